@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springblade.core.boot.config.BladeExecutorConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步线程池处理 io 密集任务（如异步日志落库），平台线程池与虚拟线程
+ *
+ * <p>
+ * 线程池由 BladeExecutorConfiguration 按 blade.async.* 的默认配置创建，虚拟线程需在 java 21+ 上运行，否则回退为平台线程池。
+ * </p>
+ *
+ * @author Chill
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+	@Param({"PLATFORM", "VIRTUAL"})
+	private String mode;
+
+	/**
+	 * 每批提交的任务数
+	 */
+	@Param({"1000"})
+	private int tasks;
+
+	/**
+	 * 每个任务的 io 等待时间
+	 */
+	@Param({"5"})
+	private long ioMillis;
+
+	private AnnotationConfigApplicationContext context;
+	private AsyncTaskExecutor executor;
+
+	@Setup
+	public void setup() {
+		context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of("blade.async.mode", mode)));
+		context.register(BladeExecutorConfiguration.class);
+		context.refresh();
+		executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void ioBoundTasks() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(tasks);
+		long ioNanos = TimeUnit.MILLISECONDS.toNanos(ioMillis);
+		for (int i = 0; i < tasks; i++) {
+			executor.execute(() -> {
+				LockSupport.parkNanos(ioNanos);
+				latch.countDown();
+			});
+		}
+		latch.await();
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springblade.core.datascope.enums.DataScopeEnum;
+import org.springblade.core.datascope.enums.DataScopeModeEnum;
+import org.springblade.core.datascope.handler.BladeDataScopeHandler;
+import org.springblade.core.datascope.handler.ScopeModelHandler;
+import org.springblade.core.datascope.model.DataScopeModel;
+import org.springblade.core.secure.BladeUser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据权限 sql 改写，子查询包装与条件下推
+ *
+ * <p>
+ * 仅统计改写本身的耗时，两种方式在数据库中的执行差异需在实际库表上用 explain 对比。
+ * </p>
+ *
+ * @author Chill
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataScopeBenchmark {
+
+	private static final String SQL = "select u.id, u.account, u.real_name, d.dept_name from blade_user u " +
+		"left join blade_dept d on d.id = u.dept_id where u.is_deleted = 0 and u.status = ? order by u.create_time desc";
+
+	@Param({"WRAP", "PUSHDOWN"})
+	private DataScopeModeEnum mode;
+
+	@Param({"OWN_DEPT", "OWN_DEPT_CHILD"})
+	private DataScopeEnum scopeType;
+
+	/**
+	 * 所在机构及子级可见时的子级机构数
+	 */
+	@Param({"20", "2000"})
+	private int children;
+
+	private BladeDataScopeHandler handler;
+	private DataScopeModel dataScope;
+	private BladeUser user;
+
+	@Setup
+	public void setup() {
+		List<Long> childIds = new ArrayList<>(children);
+		for (long i = 1; i <= children; i++) {
+			childIds.add(1123598813738675200L + i);
+		}
+		ScopeModelHandler scopeModelHandler = new ScopeModelHandler() {
+			@Override
+			public DataScopeModel getDataScopeByMapper(String mapperId, String roleId) {
+				return null;
+			}
+
+			@Override
+			public DataScopeModel getDataScopeByCode(String code) {
+				return null;
+			}
+
+			@Override
+			public List<Long> getDeptAncestors(Long deptId) {
+				return childIds;
+			}
+		};
+		handler = new BladeDataScopeHandler(scopeModelHandler, mode, 1000);
+		dataScope = new DataScopeModel(Boolean.TRUE);
+		dataScope.setScopeColumn("create_dept");
+		dataScope.setScopeField("*");
+		dataScope.setScopeType(scopeType.getType());
+		user = new BladeUser();
+		user.setUserId(1123598821738675201L);
+		user.setDeptId("1123598813738675201");
+		user.setRoleId("1123598816738675201");
+		user.setRoleName("user");
+	}
+
+	@Benchmark
+	public String sqlCondition() {
+		return handler.sqlCondition("org.springblade.system.mapper.UserMapper.selectUserPage", dataScope, user, SQL);
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.benchmark;
+
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springblade.core.redis.serializer.ProtoStuffSerializer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * redis 序列化，原 protostuff 包装方式、简单类型直接编码及 jackson 的序列化与反序列化
+ *
+ * <p>
+ * 使用 -prof gc 查看每次操作的内存分配。
+ * </p>
+ *
+ * @author Chill
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoStuffSerializerBenchmark {
+
+	/**
+	 * 缓存值类型
+	 */
+	@Param({"string", "long", "bean"})
+	private String type;
+
+	private final RedisSerializer<Object> wrapped = new ProtoStuffSerializer(false);
+	private final RedisSerializer<Object> direct = new ProtoStuffSerializer(true);
+	private final RedisSerializer<Object> jackson = new GenericJackson2JsonRedisSerializer();
+	private Object value;
+
+	@Setup
+	public void setup() {
+		value = switch (type) {
+			case "string" -> "blade:cache:user:1123598821738675201";
+			case "long" -> 1123598821738675201L;
+			default -> CacheUser.create();
+		};
+	}
+
+	@Benchmark
+	public Object protostuffWrapped() {
+		return wrapped.deserialize(wrapped.serialize(value));
+	}
+
+	@Benchmark
+	public Object protostuffDirect() {
+		return direct.deserialize(direct.serialize(value));
+	}
+
+	@Benchmark
+	public Object jackson() {
+		return jackson.deserialize(jackson.serialize(value));
+	}
+
+	/**
+	 * 常见的缓存对象
+	 */
+	@Data
+	public static class CacheUser implements Serializable {
+		private Long id;
+		private String tenantId;
+		private String account;
+		private String name;
+		private Integer status;
+		private Date createTime;
+		private List<Long> roleIds;
+
+		static CacheUser create() {
+			CacheUser user = new CacheUser();
+			user.setId(1123598821738675201L);
+			user.setTenantId("000000");
+			user.setAccount("admin");
+			user.setName("管理员");
+			user.setStatus(1);
+			user.setCreateTime(new Date(1767240000000L));
+			List<Long> roleIds = new ArrayList<>();
+			for (long i = 0; i < 8; i++) {
+				roleIds.add(1123598816738675200L + i);
+			}
+			user.setRoleIds(roleIds);
+			return user;
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springblade.core.tool.request.XssBodyFilter;
+import org.springblade.core.tool.request.XssHtmlFilter;
+import org.springblade.core.tool.request.XssHttpServletRequestWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求报文 XSS 过滤
+ *
+ * <p>
+ * htmlFilter 为原整体正则过滤的方式，bodyFilter 为缓存报文后的 json 逐 token 过滤，
+ * streamingWrapper 为 XssHttpServletRequestWrapper 读取时流式过滤。
+ * </p>
+ *
+ * @author Chill
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XssFilterBenchmark {
+
+	/**
+	 * 报文中的对象数
+	 */
+	@Param({"10", "1000"})
+	private int rows;
+
+	/**
+	 * 是否包含需要过滤的字符
+	 */
+	@Param({"false", "true"})
+	private boolean dirty;
+
+	private final XssHtmlFilter htmlFilter = new XssHtmlFilter();
+	private byte[] body;
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append("{\"id\":").append(i)
+				.append(",\"name\":\"用户").append(i).append("\"")
+				.append(",\"remark\":\"").append(dirty ? "<script>alert(1)</script> & <b>bold</b>" : "普通备注 remark").append("\"")
+				.append(",\"amount\":").append(i).append(".50,\"enabled\":true}");
+		}
+		body = builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] htmlFilter() throws IOException {
+		byte[] bytes = request().getInputStream().readAllBytes();
+		return htmlFilter.filter(new String(bytes, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public byte[] bodyFilter() throws IOException {
+		return XssBodyFilter.filter(request().getInputStream().readAllBytes(), MediaType.APPLICATION_JSON_VALUE);
+	}
+
+	@Benchmark
+	public byte[] streamingWrapper() throws IOException {
+		return new XssHttpServletRequestWrapper(request()).getInputStream().readAllBytes();
+	}
+
+	private MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/benchmark");
+		request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		request.setContent(body);
+		return request;
+	}
+
+}
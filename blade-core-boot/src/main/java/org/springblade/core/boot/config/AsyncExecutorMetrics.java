@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.boot.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步线程池指标
+ *
+ * <p>
+ * 通过任务装饰统计执行中及已完成的任务数，平台线程池额外统计线程数、队列长度及拒绝数。
+ * </p>
+ *
+ * @author Chill
+ */
+class AsyncExecutorMetrics implements MeterBinder {
+
+	private final Tags tags;
+	private final AtomicInteger active = new AtomicInteger();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	@Nullable
+	private ThreadPoolTaskExecutor threadPool;
+
+	AsyncExecutorMetrics(String name, String mode) {
+		this.tags = Tags.of(Tag.of("name", name), Tag.of("mode", mode));
+	}
+
+	/**
+	 * 绑定平台线程池
+	 *
+	 * @param threadPool ThreadPoolTaskExecutor
+	 */
+	void bind(ThreadPoolTaskExecutor threadPool) {
+		this.threadPool = threadPool;
+	}
+
+	/**
+	 * 包装拒绝策略，统计拒绝数
+	 *
+	 * @param delegate RejectedExecutionHandler
+	 * @return RejectedExecutionHandler
+	 */
+	RejectedExecutionHandler counting(RejectedExecutionHandler delegate) {
+		return (runnable, executor) -> {
+			rejected.increment();
+			delegate.rejectedExecution(runnable, executor);
+		};
+	}
+
+	/**
+	 * 统计任务执行的装饰器
+	 *
+	 * @return TaskDecorator
+	 */
+	TaskDecorator decorator() {
+		return runnable -> () -> {
+			active.incrementAndGet();
+			try {
+				runnable.run();
+			} finally {
+				active.decrementAndGet();
+				completed.increment();
+			}
+		};
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("blade.async.tasks.active", active, AtomicInteger::get)
+			.tags(tags).description("async tasks currently running").register(registry);
+		FunctionCounter.builder("blade.async.tasks.completed", completed, LongAdder::sum)
+			.tags(tags).description("async tasks completed").register(registry);
+		ThreadPoolTaskExecutor pool = threadPool;
+		if (pool == null) {
+			return;
+		}
+		FunctionCounter.builder("blade.async.tasks.rejected", rejected, LongAdder::sum)
+			.tags(tags).description("async tasks rejected by the thread pool").register(registry);
+		Gauge.builder("blade.async.pool.size", pool, ThreadPoolTaskExecutor::getPoolSize)
+			.tags(tags).description("async thread pool size").register(registry);
+		Gauge.builder("blade.async.pool.max", pool, ThreadPoolTaskExecutor::getMaxPoolSize)
+			.tags(tags).description("async thread pool max size").register(registry);
+		Gauge.builder("blade.async.queue.size", pool, ThreadPoolTaskExecutor::getQueueSize)
+			.tags(tags).description("async tasks waiting in the queue").register(registry);
+	}
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.boot.config;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.boot.props.BladeAsyncProperties;
+import org.springframework.aop.interceptor.AsyncExecutionAspectSupport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步线程池配置
+ *
+ * <p>
+ * 按 {@link BladeAsyncProperties} 创建 @Async 默认线程池，支持有界平台线程池及虚拟线程两种模式，
+ * 任务执行时绑定提交线程的请求上下文。
+ * </p>
+ * <p>
+ * 与 spring boot 一致同时注册为 applicationTaskExecutor 及 taskExecutor，spring mvc 异步请求也使用该线程池，
+ * 此时 spring.task.execution.* 不再生效，以 blade.async.* 为准。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+@EnableAsync
+@AutoConfiguration(before = TaskExecutionAutoConfiguration.class)
+@AllArgsConstructor
+@EnableConfigurationProperties(BladeAsyncProperties.class)
+public class BladeExecutorConfiguration {
+
+	/**
+	 * 虚拟线程在 java 21 正式发布
+	 */
+	private static final int VIRTUAL_THREAD_FEATURE = 21;
+
+	private final BladeAsyncProperties asyncProperties;
+
+	@Bean
+	@ConditionalOnMissingBean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncExecutionAspectSupport.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+	public AsyncExecutorMetrics asyncExecutorMetrics() {
+		return new AsyncExecutorMetrics(AsyncExecutionAspectSupport.DEFAULT_TASK_EXECUTOR_BEAN_NAME, resolveMode().name().toLowerCase());
+	}
+
+	@Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncExecutionAspectSupport.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+	@ConditionalOnMissingBean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncExecutionAspectSupport.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+	public AsyncTaskExecutor taskExecutor(AsyncExecutorMetrics metrics, ObjectProvider<TaskDecorator> taskDecorator) {
+		// 先绑定请求上下文，再统计任务执行
+		TaskDecorator contextDecorator = taskDecorator.getIfUnique();
+		TaskDecorator decorator = contextDecorator == null ? metrics.decorator() : new CompositeTaskDecorator(Arrays.asList(contextDecorator, metrics.decorator()));
+		BladeAsyncProperties.Mode mode = resolveMode();
+		if (mode != asyncProperties.getMode()) {
+			log.warn("blade.async.mode={} requires java {}+, fallback to {}", asyncProperties.getMode(), VIRTUAL_THREAD_FEATURE, mode);
+		}
+		if (mode == BladeAsyncProperties.Mode.VIRTUAL) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("blade-async-virtual-");
+			executor.setVirtualThreads(true);
+			executor.setConcurrencyLimit(asyncProperties.getConcurrencyLimit());
+			executor.setRejectTasksWhenLimitReached(asyncProperties.getRejectionPolicy() == BladeAsyncProperties.RejectionPolicy.ABORT);
+			executor.setTaskDecorator(decorator);
+			executor.setTaskTerminationTimeout(asyncProperties.getAwaitTerminationSeconds() * 1000L);
+			return executor;
+		}
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(asyncProperties.getCorePoolSize());
+		executor.setMaxPoolSize(asyncProperties.getMaxPoolSize());
+		executor.setQueueCapacity(asyncProperties.getQueueCapacity());
+		executor.setKeepAliveSeconds(asyncProperties.getKeepAliveSeconds());
+		executor.setThreadNamePrefix("blade-async-");
+		executor.setRejectedExecutionHandler(metrics.counting(rejectedExecutionHandler(asyncProperties.getRejectionPolicy())));
+		executor.setTaskDecorator(decorator);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(asyncProperties.getAwaitTerminationSeconds());
+		metrics.bind(executor);
+		return executor;
+	}
+
+	/**
+	 * 获取实际执行模式，运行环境不支持虚拟线程时回退为平台线程池
+	 *
+	 * @return Mode
+	 */
+	private BladeAsyncProperties.Mode resolveMode() {
+		BladeAsyncProperties.Mode mode = asyncProperties.getMode();
+		if (mode == BladeAsyncProperties.Mode.VIRTUAL && Runtime.version().feature() < VIRTUAL_THREAD_FEATURE) {
+			return BladeAsyncProperties.Mode.PLATFORM;
+		}
+		return mode;
+	}
+
+	private static RejectedExecutionHandler rejectedExecutionHandler(BladeAsyncProperties.RejectionPolicy policy) {
+		return switch (policy) {
+			case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+			case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+			case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+			default -> new ThreadPoolExecutor.CallerRunsPolicy();
+		};
+	}
+
+}
@@ -1,10 +1,12 @@
 package org.springblade.core.boot.logger;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springblade.core.boot.props.BladeRequestLogProperties;
 import org.springblade.core.launch.constant.AppConstant;
 import org.springblade.core.tool.jackson.JsonUtil;
 import org.springblade.core.tool.utils.BeanUtil;
@@ -12,34 +14,78 @@ import org.springblade.core.tool.utils.ClassUtil;
 import org.springblade.core.tool.utils.StringUtil;
 import org.springblade.core.tool.utils.WebUtil;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
-import org.springframework.context.annotation.Profile;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.HandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Spring boot 控制器 请求日志，方便代码调试
  *
+ * <p>
+ * 默认仅在 dev、test 环境开启，可通过 blade.request-log.enabled 显式开启或关闭；
+ * 生产环境建议使用 STRUCTURED 格式并配置采样率。
+ * </p>
+ *
  * @author L.cm
  */
 @Slf4j
 @Aspect
 @AutoConfiguration
-@Profile({AppConstant.DEV_CODE, AppConstant.TEST_CODE})
+@Conditional(RequestLogAspect.RequestLogCondition.class)
+@EnableConfigurationProperties(BladeRequestLogProperties.class)
 public class RequestLogAspect {
 
+	private static final String NOT_SERIALIZABLE = "此参数不能序列化为json";
+	private static final String TRUNCATED = "...(truncated)";
+	/**
+	 * 线程复用的日志缓冲区超过该大小后不再保留
+	 */
+	private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+	private static final ThreadLocal<StringWriter> LOG_BUFFER = ThreadLocal.withInitial(() -> new StringWriter(512));
+	private static final ThreadLocal<CappedWriter> PAYLOAD_BUFFER = ThreadLocal.withInitial(CappedWriter::new);
+
+	private final BladeRequestLogProperties properties;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	/**
+	 * 方法参数描述缓存
+	 */
+	private final Map<Method, ParamDescriptor[]> descriptorCache = new ConcurrentHashMap<>();
+	/**
+	 * 路由模板采样率缓存
+	 */
+	private final Map<String, Double> sampleRateCache = new ConcurrentHashMap<>();
+
+	public RequestLogAspect(BladeRequestLogProperties properties) {
+		this.properties = properties;
+	}
+
 	/**
 	 * AOP 环切 控制器 R 返回值
 	 *
@@ -53,71 +99,25 @@ public class RequestLogAspect {
 			"@within(org.springframework.web.bind.annotation.RestController))"
 	)
 	public Object aroundApi(ProceedingJoinPoint point) throws Throwable {
-		MethodSignature ms = (MethodSignature) point.getSignature();
-		Method method = ms.getMethod();
-		Object[] args = point.getArgs();
-		// 请求参数处理
-		final Map<String, Object> paraMap = new HashMap<>(16);
-		for (int i = 0; i < args.length; i++) {
-			// 读取方法参数
-			MethodParameter methodParam = ClassUtil.getMethodParameter(method, i);
-			// PathVariable 参数跳过
-			PathVariable pathVariable = methodParam.getParameterAnnotation(PathVariable.class);
-			if (pathVariable != null) {
-				continue;
-			}
-			RequestBody requestBody = methodParam.getParameterAnnotation(RequestBody.class);
-			String parameterName = methodParam.getParameterName();
-			Object value = args[i];
-			// 如果是body的json则是对象
-			if (requestBody != null && value != null) {
-				paraMap.putAll(BeanUtil.toMap(value));
-				continue;
-			}
-			// 处理 List
-			if (value instanceof List) {
-				value = ((List) value).get(0);
-			}
-			// 处理 参数
-			if (value instanceof HttpServletRequest) {
-				paraMap.putAll(((HttpServletRequest) value).getParameterMap());
-			} else if (value instanceof WebRequest) {
-				paraMap.putAll(((WebRequest) value).getParameterMap());
-			} else if (value instanceof MultipartFile) {
-				MultipartFile multipartFile = (MultipartFile) value;
-				String name = multipartFile.getName();
-				String fileName = multipartFile.getOriginalFilename();
-				paraMap.put(name, fileName);
-			} else if (value instanceof HttpServletResponse) {
-			} else if (value instanceof InputStream) {
-			} else if (value instanceof InputStreamSource) {
-			} else if (value instanceof List) {
-				List<?> list = (List<?>) value;
-				AtomicBoolean isSkip = new AtomicBoolean(false);
-				for (Object o : list) {
-					if ("StandardMultipartFile".equalsIgnoreCase(o.getClass().getSimpleName())) {
-						isSkip.set(true);
-						break;
-					}
-				}
-				if (isSkip.get()) {
-					paraMap.put(parameterName, "此参数不能序列化为json");
-					continue;
-				}
-			} else {
-				// 参数名
-				RequestParam requestParam = methodParam.getParameterAnnotation(RequestParam.class);
-				String paraName;
-				if (requestParam != null && StringUtil.isNotBlank(requestParam.value())) {
-					paraName = requestParam.value();
-				} else {
-					paraName = methodParam.getParameterName();
-				}
-				paraMap.put(paraName, value);
-			}
-		}
 		HttpServletRequest request = WebUtil.getRequest();
-		String requestURI = Objects.requireNonNull(request).getRequestURI();
+		if (request == null || !isSampled(request)) {
+			return point.proceed();
+		}
+		Method method = ((MethodSignature) point.getSignature()).getMethod();
+		ParamDescriptor[] descriptors = descriptorCache.computeIfAbsent(method, RequestLogAspect::describe);
+		if (BladeRequestLogProperties.Mode.STRUCTURED == properties.getMode()) {
+			return aroundStructured(point, request, descriptors);
+		}
+		return aroundPretty(point, request, descriptors);
+	}
+
+	/**
+	 * 多行格式日志
+	 */
+	private Object aroundPretty(ProceedingJoinPoint point, HttpServletRequest request, ParamDescriptor[] descriptors) throws Throwable {
+		// 请求参数处理
+		final Map<String, Object> paraMap = buildParams(point.getArgs(), descriptors, true);
+		String requestURI = request.getRequestURI();
 		String requestMethod = request.getMethod();
 
 		// 构建成一条长 日志，避免并发下日志错乱
@@ -157,8 +157,10 @@ public class RequestLogAspect {
 		try {
 			Object result = point.proceed();
 			// 打印返回结构体
-			afterReqLog.append("===Result===  {}\n");
-			afterReqArgs.add(JsonUtil.toJson(result));
+			if (properties.isLogResult()) {
+				afterReqLog.append("===Result===  {}\n");
+				afterReqArgs.add(JsonUtil.toJson(result));
+			}
 			return result;
 		} finally {
 			long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
@@ -171,4 +173,276 @@ public class RequestLogAspect {
 		}
 	}
 
+	/**
+	 * 单行 json 格式日志，请求结束后输出一条
+	 */
+	private Object aroundStructured(ProceedingJoinPoint point, HttpServletRequest request, ParamDescriptor[] descriptors) throws Throwable {
+		Map<String, Object> paraMap = buildParams(point.getArgs(), descriptors, false);
+		long startNs = System.nanoTime();
+		Object result = null;
+		Throwable error = null;
+		try {
+			result = point.proceed();
+			return result;
+		} catch (Throwable e) {
+			error = e;
+			throw e;
+		} finally {
+			long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+			try {
+				log.info(buildStructuredLog(request, paraMap, result, error, tookMs));
+			} catch (Exception e) {
+				log.warn("request log build failed: {}", e.getMessage());
+			}
+		}
+	}
+
+	private String buildStructuredLog(HttpServletRequest request, Map<String, Object> paraMap, Object result,
+									  Throwable error, long tookMs) throws IOException {
+		StringWriter buffer = LOG_BUFFER.get();
+		buffer.getBuffer().setLength(0);
+		try (JsonGenerator generator = JsonUtil.getInstance().getFactory().createGenerator(buffer)) {
+			generator.writeStartObject();
+			generator.writeStringField("method", request.getMethod());
+			generator.writeStringField("uri", request.getRequestURI());
+			generator.writeNumberField("took", tookMs);
+			if (error != null) {
+				generator.writeStringField("error", error.getClass().getName());
+			}
+			for (String header : properties.getHeaders()) {
+				String value = request.getHeader(header);
+				if (value != null) {
+					generator.writeStringField(header, value);
+				}
+			}
+			if (!paraMap.isEmpty()) {
+				generator.writeFieldName("params");
+				writePayload(generator, paraMap);
+			}
+			if (properties.isLogResult() && error == null) {
+				generator.writeFieldName("result");
+				writePayload(generator, result);
+			}
+			generator.writeEndObject();
+		}
+		String line = buffer.toString();
+		if (buffer.getBuffer().capacity() > MAX_RETAINED_BUFFER) {
+			LOG_BUFFER.remove();
+		}
+		return line;
+	}
+
+	/**
+	 * 序列化参数或返回值，超出长度后中止序列化并以截断的字符串输出
+	 */
+	private void writePayload(JsonGenerator generator, Object value) throws IOException {
+		CappedWriter writer = PAYLOAD_BUFFER.get();
+		writer.reset(properties.getMaxPayloadLength());
+		try {
+			JsonUtil.getInstance().writeValue(writer, value);
+		} catch (Exception e) {
+			if (!writer.truncated) {
+				generator.writeString(NOT_SERIALIZABLE);
+				return;
+			}
+		}
+		if (writer.truncated) {
+			generator.writeString(writer.buffer + TRUNCATED);
+		} else {
+			generator.writeRawValue(writer.buffer.toString());
+		}
+	}
+
+	/**
+	 * 构建请求参数
+	 *
+	 * @param args        方法参数值
+	 * @param descriptors 方法参数描述
+	 * @param flattenBody 是否将 RequestBody 展开为 map
+	 * @return 请求参数
+	 */
+	private static Map<String, Object> buildParams(Object[] args, ParamDescriptor[] descriptors, boolean flattenBody) {
+		final Map<String, Object> paraMap = new HashMap<>(16);
+		for (int i = 0; i < args.length; i++) {
+			ParamDescriptor descriptor = descriptors[i];
+			// PathVariable 参数跳过
+			if (descriptor.pathVariable()) {
+				continue;
+			}
+			Object value = args[i];
+			// 如果是body的json则是对象
+			if (descriptor.requestBody() && value != null) {
+				if (flattenBody) {
+					paraMap.putAll(BeanUtil.toMap(value));
+				} else {
+					paraMap.put(descriptor.parameterName(), value);
+				}
+				continue;
+			}
+			// 处理 List
+			if (value instanceof List && !((List<?>) value).isEmpty()) {
+				value = ((List<?>) value).get(0);
+			}
+			// 处理 参数
+			if (value instanceof HttpServletRequest) {
+				paraMap.putAll(((HttpServletRequest) value).getParameterMap());
+			} else if (value instanceof WebRequest) {
+				paraMap.putAll(((WebRequest) value).getParameterMap());
+			} else if (value instanceof MultipartFile) {
+				MultipartFile multipartFile = (MultipartFile) value;
+				String name = multipartFile.getName();
+				String fileName = multipartFile.getOriginalFilename();
+				paraMap.put(name, fileName);
+			} else if (value instanceof HttpServletResponse) {
+			} else if (value instanceof InputStream) {
+			} else if (value instanceof InputStreamSource) {
+			} else if (value instanceof List) {
+				List<?> list = (List<?>) value;
+				AtomicBoolean isSkip = new AtomicBoolean(false);
+				for (Object o : list) {
+					if ("StandardMultipartFile".equalsIgnoreCase(o.getClass().getSimpleName())) {
+						isSkip.set(true);
+						break;
+					}
+				}
+				if (isSkip.get()) {
+					paraMap.put(descriptor.parameterName(), NOT_SERIALIZABLE);
+				}
+			} else {
+				paraMap.put(descriptor.paraName(), value);
+			}
+		}
+		return paraMap;
+	}
+
+	/**
+	 * 解析方法参数描述，每个方法只执行一次
+	 */
+	private static ParamDescriptor[] describe(Method method) {
+		ParamDescriptor[] descriptors = new ParamDescriptor[method.getParameterCount()];
+		for (int i = 0; i < descriptors.length; i++) {
+			// 读取方法参数
+			MethodParameter methodParam = ClassUtil.getMethodParameter(method, i);
+			String parameterName = methodParam.getParameterName();
+			// 参数名
+			RequestParam requestParam = methodParam.getParameterAnnotation(RequestParam.class);
+			String paraName;
+			if (requestParam != null && StringUtil.isNotBlank(requestParam.value())) {
+				paraName = requestParam.value();
+			} else {
+				paraName = parameterName;
+			}
+			descriptors[i] = new ParamDescriptor(
+				methodParam.hasParameterAnnotation(PathVariable.class),
+				methodParam.hasParameterAnnotation(RequestBody.class),
+				parameterName,
+				paraName
+			);
+		}
+		return descriptors;
+	}
+
+	/**
+	 * 按采样率判断是否记录
+	 */
+	private boolean isSampled(HttpServletRequest request) {
+		double rate = getSampleRate(request);
+		return rate >= 1.0D || (rate > 0D && ThreadLocalRandom.current().nextDouble() < rate);
+	}
+
+	/**
+	 * 获取采样率，优先按路由模板匹配并缓存结果
+	 */
+	private double getSampleRate(HttpServletRequest request) {
+		List<BladeRequestLogProperties.Sample> samples = properties.getSamples();
+		if (samples.isEmpty()) {
+			return properties.getSampleRate();
+		}
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (pattern == null) {
+			return matchSampleRate(request.getRequestURI());
+		}
+		return sampleRateCache.computeIfAbsent(pattern.toString(), this::matchSampleRate);
+	}
+
+	private double matchSampleRate(String path) {
+		for (BladeRequestLogProperties.Sample sample : properties.getSamples()) {
+			if (sample.getPath() != null && pathMatcher.match(sample.getPath(), path)) {
+				return sample.getRate();
+			}
+		}
+		return properties.getSampleRate();
+	}
+
+	/**
+	 * 方法参数描述
+	 *
+	 * @param pathVariable  是否为 PathVariable 参数
+	 * @param requestBody   是否为 RequestBody 参数
+	 * @param parameterName 参数名
+	 * @param paraName      日志中使用的参数名，优先取 RequestParam 配置的名称
+	 */
+	private record ParamDescriptor(boolean pathVariable, boolean requestBody, String parameterName, String paraName) {
+	}
+
+	/**
+	 * 限制长度的缓冲写入器，超出长度后中止写入
+	 */
+	private static class CappedWriter extends Writer {
+		private static final IOException LIMIT_EXCEEDED = new IOException("payload limit exceeded");
+
+		private final StringBuilder buffer = new StringBuilder(256);
+		private int limit;
+		private boolean truncated;
+
+		void reset(int limit) {
+			this.buffer.setLength(0);
+			if (this.buffer.capacity() > MAX_RETAINED_BUFFER) {
+				this.buffer.trimToSize();
+			}
+			this.limit = limit;
+			this.truncated = false;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			int remaining = limit - buffer.length();
+			if (len > remaining) {
+				buffer.append(cbuf, off, Math.max(remaining, 0));
+				truncated = true;
+				throw LIMIT_EXCEEDED;
+			}
+			buffer.append(cbuf, off, len);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * 请求日志开启条件：显式配置 blade.request-log.enabled 时以配置为准，否则仅在 dev、test 环境开启
+	 */
+	static class RequestLogCondition extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			Environment environment = context.getEnvironment();
+			String enabled = environment.getProperty(BladeRequestLogProperties.PREFIX + ".enabled");
+			if (StringUtil.isNotBlank(enabled)) {
+				return Boolean.parseBoolean(enabled)
+					? ConditionOutcome.match("blade.request-log.enabled is true")
+					: ConditionOutcome.noMatch("blade.request-log.enabled is false");
+			}
+			if (environment.acceptsProfiles(Profiles.of(AppConstant.DEV_CODE, AppConstant.TEST_CODE))) {
+				return ConditionOutcome.match("dev or test profile is active");
+			}
+			return ConditionOutcome.noMatch("neither blade.request-log.enabled nor dev/test profile is set");
+		}
+	}
+
 }
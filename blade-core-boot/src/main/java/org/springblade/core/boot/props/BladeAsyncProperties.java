@@ -43,4 +43,56 @@ public class BladeAsyncProperties {
 	 * 线程存活时间，默认：300
 	 */
 	private int keepAliveSeconds = 300;
+	/**
+	 * 执行模式，默认：PLATFORM
+	 */
+	private Mode mode = Mode.PLATFORM;
+	/**
+	 * PLATFORM 模式下线程池饱和时的拒绝策略，默认：CALLER_RUNS
+	 */
+	private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+	/**
+	 * VIRTUAL 模式下的最大并发任务数，达到上限时阻塞提交线程，拒绝策略为 ABORT 时直接拒绝，默认：1000
+	 */
+	private int concurrencyLimit = 1000;
+	/**
+	 * 关闭时等待任务完成的时间，默认：30
+	 */
+	private int awaitTerminationSeconds = 30;
+
+	/**
+	 * 执行模式
+	 */
+	public enum Mode {
+		/**
+		 * 有界平台线程池，按核心线程数、最大线程数及队列容量配置
+		 */
+		PLATFORM,
+		/**
+		 * 每个任务一个虚拟线程，按最大并发任务数限流，需 java 21 及以上，低版本时回退为 PLATFORM
+		 */
+		VIRTUAL
+	}
+
+	/**
+	 * 拒绝策略
+	 */
+	public enum RejectionPolicy {
+		/**
+		 * 由提交任务的线程执行
+		 */
+		CALLER_RUNS,
+		/**
+		 * 抛出 TaskRejectedException
+		 */
+		ABORT,
+		/**
+		 * 丢弃任务
+		 */
+		DISCARD,
+		/**
+		 * 丢弃队列中最早的任务
+		 */
+		DISCARD_OLDEST
+	}
 }
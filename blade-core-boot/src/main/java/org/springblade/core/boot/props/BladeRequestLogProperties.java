@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.boot.props;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求日志配置
+ *
+ * @author Chill
+ */
+@Getter
+@Setter
+@ConfigurationProperties(BladeRequestLogProperties.PREFIX)
+public class BladeRequestLogProperties {
+	/**
+	 * 前缀
+	 */
+	public static final String PREFIX = "blade.request-log";
+
+	/**
+	 * 是否开启请求日志，未配置时仅在 dev、test 环境开启
+	 */
+	private Boolean enabled;
+	/**
+	 * 日志格式，默认：PRETTY
+	 */
+	private Mode mode = Mode.PRETTY;
+	/**
+	 * 默认采样率，取值 0~1，默认：1
+	 */
+	private double sampleRate = 1.0D;
+	/**
+	 * 按路径配置的采样率，按顺序匹配第一个
+	 */
+	private List<Sample> samples = new ArrayList<>();
+	/**
+	 * STRUCTURED 格式下参数及返回值序列化后的最大长度，超出后截断，默认：4096
+	 */
+	private int maxPayloadLength = 4096;
+	/**
+	 * STRUCTURED 格式下是否记录返回值，默认：true
+	 */
+	private boolean logResult = true;
+	/**
+	 * STRUCTURED 格式下记录的请求头，默认不记录
+	 */
+	private List<String> headers = new ArrayList<>();
+
+	@Getter
+	@Setter
+	public static class Sample {
+		/**
+		 * 路径，支持 ant 风格，如：/blade-user/**
+		 */
+		private String path;
+		/**
+		 * 采样率，取值 0~1
+		 */
+		private double rate = 1.0D;
+	}
+
+	/**
+	 * 日志格式
+	 */
+	public enum Mode {
+		/**
+		 * 多行格式，打印全部参数、请求头及返回值，便于开发调试
+		 */
+		PRETTY,
+		/**
+		 * 单行 json 格式，限制参数及返回值长度，适用于生产环境
+		 */
+		STRUCTURED
+	}
+}
@@ -16,6 +16,7 @@
 package org.springblade.core.cloud.header;
 
 import org.springblade.core.cloud.props.BladeFeignHeadersProperties;
+import org.springblade.core.secure.context.BladeContext;
 import org.springblade.core.tool.utils.StringUtil;
 import org.springblade.core.tool.utils.WebUtil;
 import org.springframework.core.NamedThreadLocal;
@@ -28,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * HttpHeadersContext
@@ -50,7 +52,18 @@ public class BladeHttpHeadersContextHolder {
 
 	@Nullable
 	public static HttpHeaders get() {
-		return HTTP_HEADERS_HOLDER.get();
+		HttpHeaders headers = HTTP_HEADERS_HOLDER.get();
+		if (headers != null) {
+			return headers;
+		}
+		// 异步线程中使用传递的上下文请求头
+		Map<String, String> contextHeaders = BladeContext.current().getHeaders();
+		if (contextHeaders.isEmpty()) {
+			return null;
+		}
+		headers = new HttpHeaders();
+		contextHeaders.forEach(headers::add);
+		return headers;
 	}
 
 	static void remove() {
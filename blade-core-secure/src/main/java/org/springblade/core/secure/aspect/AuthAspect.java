@@ -33,13 +33,20 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.MethodParameter;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AOP 鉴权
@@ -57,9 +64,20 @@ public class AuthAspect implements ApplicationContextAware {
 	private final AuthFun authFun;
 
 	/**
-	 * 表达式处理
+	 * 表达式处理，执行后尝试编译为字节码，无法编译的表达式回退为解释执行
 	 */
-	private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+	private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+		new SpelParserConfiguration(SpelCompilerMode.MIXED, AuthAspect.class.getClassLoader()));
+
+	/**
+	 * 方法鉴权计划缓存
+	 */
+	private final Map<Method, AuthPlan> planCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 不引用方法参数的表达式共用的上下文
+	 */
+	private volatile EvaluationContext sharedContext;
 
 	/**
 	 * 切 方法 和 类上的 @PreAuth 注解
@@ -85,26 +103,20 @@ public class AuthAspect implements ApplicationContextAware {
 	 * @param point 切点
 	 */
 	private boolean handleAuth(ProceedingJoinPoint point) {
-		// 读取权限注解，优先方法上，没有则读取类
 		MethodSignature ms = (MethodSignature) point.getSignature();
-		Method method = ms.getMethod();
-		PreAuth preAuth = ClassUtil.getAnnotation(method, PreAuth.class);
+		AuthPlan plan = planCache.computeIfAbsent(ms.getMethod(), AuthAspect::compile);
 		// 处理接口权限属性验证
-		if (StringUtil.isNotBlank(preAuth.permission()) && !authFun.hasPermission(preAuth.permission())) {
+		if (plan.permission() != null && !authFun.hasPermission(plan.permission())) {
 			return false;
 		}
 		// 处理角色权限属性验证
-		if (StringUtil.isNotBlank(preAuth.role()) && !authFun.hasRole(preAuth.role())) {
+		if (plan.role() != null && !authFun.hasRole(plan.role())) {
 			return false;
 		}
 		// 判断表达式
-		String condition = preAuth.value();
-		if (StringUtil.isNotBlank(condition)) {
-			Expression expression = EXPRESSION_PARSER.parseExpression(condition);
-			// 方法参数值
-			Object[] args = point.getArgs();
-			StandardEvaluationContext context = getEvaluationContext(method, args);
-			return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+		if (plan.expression() != null) {
+			EvaluationContext context = plan.parameterNames() == null ? getSharedContext() : getEvaluationContext(plan.parameterNames(), point.getArgs());
+			return Boolean.TRUE.equals(plan.expression().getValue(context, Boolean.class));
 		} else {
 			// 判断用户是否通过鉴权
 			return AuthUtil.hasAuth();
@@ -112,31 +124,92 @@ public class AuthAspect implements ApplicationContextAware {
 	}
 
 	/**
-	 * 获取方法上的参数
+	 * 编译方法的鉴权计划，每个方法只执行一次
 	 *
 	 * @param method 方法
-	 * @param args   变量
+	 * @return AuthPlan
+	 */
+	private static AuthPlan compile(Method method) {
+		// 读取权限注解，优先方法上，没有则读取类
+		PreAuth preAuth = ClassUtil.getAnnotation(method, PreAuth.class);
+		String permission = StringUtil.isNotBlank(preAuth.permission()) ? preAuth.permission() : null;
+		String role = StringUtil.isNotBlank(preAuth.role()) ? preAuth.role() : null;
+		String condition = preAuth.value();
+		if (StringUtil.isBlank(condition)) {
+			return new AuthPlan(permission, role, null, null);
+		}
+		Expression expression = EXPRESSION_PARSER.parseExpression(condition);
+		// 表达式未引用变量时无需读取方法参数
+		String[] parameterNames = null;
+		if (condition.indexOf('#') >= 0) {
+			parameterNames = new String[method.getParameterCount()];
+			for (int i = 0; i < parameterNames.length; i++) {
+				// 读取方法参数
+				MethodParameter methodParam = ClassUtil.getMethodParameter(method, i);
+				parameterNames[i] = methodParam.getParameterName();
+			}
+		}
+		return new AuthPlan(permission, role, expression, parameterNames);
+	}
+
+	/**
+	 * 获取方法上的参数
+	 *
+	 * @param parameterNames 参数名
+	 * @param args           变量
 	 * @return {SimpleEvaluationContext}
 	 */
-	private StandardEvaluationContext getEvaluationContext(Method method, Object[] args) {
-		// 初始化Sp el表达式上下文，并设置 AuthFun
-		StandardEvaluationContext context = new StandardEvaluationContext(authFun);
-		// 设置表达式支持spring bean
-		context.setBeanResolver(new BeanFactoryResolver(applicationContext));
+	private EvaluationContext getEvaluationContext(String[] parameterNames, Object[] args) {
+		StandardEvaluationContext context = createContext();
 		for (int i = 0; i < args.length; i++) {
-			// 读取方法参数
-			MethodParameter methodParam = ClassUtil.getMethodParameter(method, i);
 			// 设置方法 参数名和值 为sp el变量
-			context.setVariable(methodParam.getParameterName(), args[i]);
+			context.setVariable(parameterNames[i], args[i]);
+		}
+		return context;
+	}
+
+	private EvaluationContext getSharedContext() {
+		EvaluationContext context = this.sharedContext;
+		if (context == null) {
+			StandardEvaluationContext created = createContext();
+			// 提前初始化延迟创建的解析器，保证多线程只读访问安全
+			created.getPropertyAccessors();
+			created.getMethodResolvers();
+			created.getConstructorResolvers();
+			created.getIndexAccessors();
+			created.getTypeLocator();
+			created.getTypeConverter();
+			context = created;
+			this.sharedContext = context;
 		}
 		return context;
 	}
 
-	private ApplicationContext applicationContext;
+	private StandardEvaluationContext createContext() {
+		// 初始化Sp el表达式上下文，并设置 AuthFun
+		StandardEvaluationContext context = new StandardEvaluationContext(authFun);
+		// 设置表达式支持spring bean
+		context.setBeanResolver(beanResolver);
+		return context;
+	}
+
+	/**
+	 * 方法鉴权计划
+	 *
+	 * @param permission     接口权限
+	 * @param role           角色权限
+	 * @param expression     预解析的表达式
+	 * @param parameterNames 方法参数名，表达式未引用变量时为 null
+	 */
+	private record AuthPlan(@Nullable String permission, @Nullable String role,
+							@Nullable Expression expression, @Nullable String[] parameterNames) {
+	}
+
+	private BeanResolver beanResolver;
 
 	@Override
 	public void setApplicationContext(@NonNull ApplicationContext applicationContext) throws BeansException {
-		this.applicationContext = applicationContext;
+		this.beanResolver = new BeanFactoryResolver(applicationContext);
 	}
 
 }
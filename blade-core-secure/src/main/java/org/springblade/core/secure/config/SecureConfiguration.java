@@ -16,9 +16,13 @@
 package org.springblade.core.secure.config;
 
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.AllArgsConstructor;
 import org.springblade.core.secure.aspect.AuthAspect;
 import org.springblade.core.secure.auth.AuthFun;
+import org.springblade.core.secure.context.BladeContextTaskDecorator;
 import org.springblade.core.secure.handler.BladePermissionHandler;
 import org.springblade.core.secure.handler.IPermissionHandler;
 import org.springblade.core.secure.interceptor.ClientInterceptor;
@@ -26,14 +30,17 @@ import org.springblade.core.secure.interceptor.SecureInterceptor;
 import org.springblade.core.secure.props.BladeAuthProperties;
 import org.springblade.core.secure.props.BladeSecureProperties;
 import org.springblade.core.secure.props.BladeTokenProperties;
+import org.springblade.core.secure.provider.CachedClientDetailsService;
 import org.springblade.core.secure.provider.ClientDetailsServiceImpl;
 import org.springblade.core.secure.provider.IClientDetailsService;
 import org.springblade.core.secure.registry.SecureRegistry;
+import org.springblade.core.secure.utils.SecureUtil;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -53,6 +60,8 @@ public class SecureConfiguration implements WebMvcConfigurer {
 
 	private final BladeSecureProperties secureProperties;
 
+	private final BladeTokenProperties tokenProperties;
+
 	private final JdbcTemplate jdbcTemplate;
 
 	@Override
@@ -75,13 +84,54 @@ public class SecureConfiguration implements WebMvcConfigurer {
 	@Bean
 	@ConditionalOnMissingBean(IPermissionHandler.class)
 	public IPermissionHandler permissionHandler() {
-		return new BladePermissionHandler(jdbcTemplate);
+		BladeSecureProperties.PermissionIndex permissionIndex = secureProperties.getPermissionIndex();
+		return new BladePermissionHandler(jdbcTemplate, permissionIndex.getEnabled() ? permissionIndex.getRefresh() : null);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(TaskDecorator.class)
+	public TaskDecorator bladeContextTaskDecorator() {
+		return new BladeContextTaskDecorator();
 	}
 
 	@Bean
 	@ConditionalOnMissingBean(IClientDetailsService.class)
 	public IClientDetailsService clientDetailsService() {
-		return new ClientDetailsServiceImpl(jdbcTemplate);
+		IClientDetailsService clientDetailsService = new ClientDetailsServiceImpl(jdbcTemplate);
+		BladeTokenProperties.ClientCache clientCache = tokenProperties.getClientCache();
+		return clientCache.isEnabled() ? new CachedClientDetailsService(clientDetailsService, clientCache) : clientDetailsService;
+	}
+
+	@Bean
+	public MeterBinder tokenClaimsCacheMetrics() {
+		return registry -> {
+			FunctionCounter.builder("blade.token.claims.cache", SecureUtil.class, c -> SecureUtil.getClaimsCacheStats().hitCount())
+				.tag("result", "hit").description("token claims cache hits").register(registry);
+			FunctionCounter.builder("blade.token.claims.cache", SecureUtil.class, c -> SecureUtil.getClaimsCacheStats().missCount())
+				.tag("result", "miss").description("token claims cache misses").register(registry);
+			FunctionCounter.builder("blade.token.claims.cache.evictions", SecureUtil.class, c -> SecureUtil.getClaimsCacheStats().evictionCount())
+				.description("token claims cache evictions").register(registry);
+			Gauge.builder("blade.token.claims.cache.size", SecureUtil.class, c -> SecureUtil.getClaimsCache() == null ? 0 : SecureUtil.getClaimsCache().size())
+				.description("token claims cache size").register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder tokenMintMetrics(IClientDetailsService clientDetailsService) {
+		return registry -> {
+			FunctionCounter.builder("blade.token.mint", SecureUtil.class, c -> SecureUtil.getTokenMintCount())
+				.tag("result", "success").description("tokens minted").register(registry);
+			FunctionCounter.builder("blade.token.mint", SecureUtil.class, c -> SecureUtil.getTokenRejectCount())
+				.tag("result", "rejected").description("tokens rejected by client authentication").register(registry);
+			if (clientDetailsService instanceof CachedClientDetailsService cached) {
+				FunctionCounter.builder("blade.client.details.cache", cached, c -> c.stats().hitCount())
+					.tag("result", "hit").description("client details cache hits").register(registry);
+				FunctionCounter.builder("blade.client.details.cache", cached, c -> c.stats().missCount())
+					.tag("result", "miss").description("client details cache misses").register(registry);
+				Gauge.builder("blade.client.details.cache.size", cached, CachedClientDetailsService::size)
+					.description("client details cache size").register(registry);
+			}
+		};
 	}
 
 }
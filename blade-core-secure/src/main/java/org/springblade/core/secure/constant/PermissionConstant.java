@@ -24,6 +24,11 @@ import org.springblade.core.tool.utils.StringUtil;
  */
 public interface PermissionConstant {
 
+	/**
+	 * 获取全部角色的接口权限，用于构建内存权限索引
+	 */
+	String PERMISSION_INDEX_ALL = "select rs.role_id, sa.resource_code, sa.scope_path from blade_role_scope rs inner join blade_scope_api sa on sa.id = rs.scope_id where rs.scope_category = 2";
+
 	/**
 	 * 获取角色所有的权限编号
 	 *
@@ -44,6 +49,16 @@ public interface PermissionConstant {
 		return StringUtil.format("select resource_code as code from blade_scope_api where resource_code = ? and id in (select scope_id from blade_role_scope where scope_category = 2 and role_id in ({}))", buildHolder(size));
 	}
 
+	/**
+	 * 获取指定角色的接口权限，用于增量刷新内存权限索引
+	 *
+	 * @param size 数量
+	 * @return string
+	 */
+	static String permissionIndexStatement(int size) {
+		return StringUtil.format("{} and rs.role_id in ({})", PERMISSION_INDEX_ALL, buildHolder(size));
+	}
+
 	/**
 	 * 获取Sql占位符
 	 *
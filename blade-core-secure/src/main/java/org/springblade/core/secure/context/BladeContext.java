@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.context;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springblade.core.launch.constant.TokenConstant;
+import org.springblade.core.secure.BladeUser;
+import org.springblade.core.secure.constant.SecureConstant;
+import org.springblade.core.secure.utils.SecureUtil;
+import org.springblade.core.tool.utils.Exceptions;
+import org.springblade.core.tool.utils.StringUtil;
+import org.springblade.core.tool.utils.WebUtil;
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 请求上下文
+ *
+ * <p>
+ * 不可变的用户、租户、透传请求头及忽略标记快照，每个请求仅采集一次并保存在 request 中。
+ * 通过 {@link BladeContextTaskDecorator} 或 {@link BladeContextExecutor} 传递到异步线程后，
+ * 异步线程中的 {@link SecureUtil#getUser()}、租户及 sql 日志工具均从上下文读取，无需再次解析 token。
+ * </p>
+ *
+ * @author Chill
+ */
+@Getter
+public final class BladeContext {
+
+	/**
+	 * 空上下文
+	 */
+	public static final BladeContext EMPTY = new BladeContext(null, null, Collections.emptyMap(), false, 0, false);
+
+	private static final String BLADE_CONTEXT_REQUEST_ATTR = "_BLADE_CONTEXT_REQUEST_ATTR_";
+
+	/**
+	 * 透传到异步线程的请求头
+	 */
+	private static final String[] PROPAGATE_HEADERS = new String[]{
+		"X-Real-IP", "x-forwarded-for", TokenConstant.HEADER, SecureConstant.BASIC_HEADER_KEY
+	};
+
+	/**
+	 * 用户信息
+	 */
+	@Nullable
+	private final BladeUser user;
+
+	/**
+	 * 租户id
+	 */
+	@Nullable
+	private final String tenantId;
+
+	/**
+	 * 透传请求头，名称不区分大小写
+	 */
+	private final Map<String, String> headers;
+
+	/**
+	 * 是否忽略租户，由 TenantUtil.ignore、@TenantIgnore 等按作用域设置，执行完成后恢复
+	 */
+	private final boolean tenantIgnore;
+
+	/**
+	 * BladeTenantHolder 设置的忽略租户层数，pushIgnore 与 popIgnore 成对增减，setIgnore 直接设置
+	 */
+	private final int tenantIgnoreDepth;
+
+	/**
+	 * 是否忽略 sql 日志
+	 */
+	private final boolean sqlLogIgnore;
+
+	private BladeContext(@Nullable BladeUser user, @Nullable String tenantId, Map<String, String> headers, boolean tenantIgnore, int tenantIgnoreDepth, boolean sqlLogIgnore) {
+		this.user = user;
+		this.tenantId = tenantId;
+		this.headers = headers;
+		this.tenantIgnore = tenantIgnore;
+		this.tenantIgnoreDepth = tenantIgnoreDepth;
+		this.sqlLogIgnore = sqlLogIgnore;
+	}
+
+	/**
+	 * 获取当前线程绑定的上下文，不会解析请求
+	 *
+	 * @return BladeContext
+	 */
+	public static BladeContext current() {
+		BladeContext context = BladeContextHolder.get();
+		return context == null ? EMPTY : context;
+	}
+
+	/**
+	 * 采集当前上下文，用于传递到异步线程
+	 *
+	 * <p>
+	 * 已绑定携带用户的上下文时直接返回；否则从当前请求采集，并保留当前线程已设置的租户及忽略标记。
+	 * </p>
+	 *
+	 * @return BladeContext
+	 */
+	public static BladeContext capture() {
+		BladeContext bound = BladeContextHolder.get();
+		if (bound != null && bound.user != null) {
+			return bound;
+		}
+		BladeContext request = fromRequest();
+		if (bound == null) {
+			return request;
+		}
+		String tenantId = bound.tenantId != null ? bound.tenantId : request.tenantId;
+		return new BladeContext(request.user, tenantId, request.headers, bound.tenantIgnore, bound.tenantIgnoreDepth, bound.sqlLogIgnore);
+	}
+
+	/**
+	 * 从当前请求采集上下文，同一请求只采集一次
+	 *
+	 * @return BladeContext
+	 */
+	private static BladeContext fromRequest() {
+		HttpServletRequest request = WebUtil.getRequest();
+		if (request == null) {
+			return EMPTY;
+		}
+		Object cached = request.getAttribute(BLADE_CONTEXT_REQUEST_ATTR);
+		if (cached != null) {
+			return (BladeContext) cached;
+		}
+		Map<String, String> headers = new LinkedCaseInsensitiveMap<>(PROPAGATE_HEADERS.length);
+		for (String name : PROPAGATE_HEADERS) {
+			String value = request.getHeader(name);
+			if (StringUtil.isNotBlank(value)) {
+				headers.put(name, value);
+			}
+		}
+		BladeUser user = SecureUtil.getUser();
+		String tenantId = user == null ? null : user.getTenantId();
+		BladeContext context = new BladeContext(user, tenantId, Collections.unmodifiableMap(headers), false, 0, false);
+		request.setAttribute(BLADE_CONTEXT_REQUEST_ATTR, context);
+		return context;
+	}
+
+	/**
+	 * 获取透传请求头
+	 *
+	 * @param name 请求头名称，不区分大小写
+	 * @return value
+	 */
+	@Nullable
+	public String getHeader(String name) {
+		return headers.get(name);
+	}
+
+	/**
+	 * 是否忽略租户
+	 *
+	 * @return boolean
+	 */
+	public boolean isTenantIgnore() {
+		return tenantIgnore || tenantIgnoreDepth > 0;
+	}
+
+	/**
+	 * 是否为空上下文
+	 *
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return user == null && tenantId == null && headers.isEmpty() && !isTenantIgnore() && !sqlLogIgnore;
+	}
+
+	/**
+	 * 复制上下文并设置租户id
+	 *
+	 * @param tenantId 租户id
+	 * @return BladeContext
+	 */
+	public BladeContext withTenantId(@Nullable String tenantId) {
+		return new BladeContext(user, tenantId, headers, tenantIgnore, tenantIgnoreDepth, sqlLogIgnore);
+	}
+
+	/**
+	 * 复制上下文并设置是否忽略租户
+	 *
+	 * @param tenantIgnore 是否忽略租户
+	 * @return BladeContext
+	 */
+	public BladeContext withTenantIgnore(boolean tenantIgnore) {
+		return tenantIgnore == this.tenantIgnore ? this : new BladeContext(user, tenantId, headers, tenantIgnore, tenantIgnoreDepth, sqlLogIgnore);
+	}
+
+	/**
+	 * 复制上下文并设置 BladeTenantHolder 的忽略租户层数
+	 *
+	 * @param tenantIgnoreDepth 忽略租户层数
+	 * @return BladeContext
+	 */
+	public BladeContext withTenantIgnoreDepth(int tenantIgnoreDepth) {
+		int depth = Math.max(tenantIgnoreDepth, 0);
+		return depth == this.tenantIgnoreDepth ? this : new BladeContext(user, tenantId, headers, tenantIgnore, depth, sqlLogIgnore);
+	}
+
+	/**
+	 * 复制上下文并设置是否忽略 sql 日志
+	 *
+	 * @param sqlLogIgnore 是否忽略 sql 日志
+	 * @return BladeContext
+	 */
+	public BladeContext withSqlLogIgnore(boolean sqlLogIgnore) {
+		return sqlLogIgnore == this.sqlLogIgnore ? this : new BladeContext(user, tenantId, headers, tenantIgnore, tenantIgnoreDepth, sqlLogIgnore);
+	}
+
+	/**
+	 * 在当前上下文中执行
+	 *
+	 * @param runnable Runnable
+	 */
+	public void run(Runnable runnable) {
+		supply(() -> {
+			runnable.run();
+			return null;
+		});
+	}
+
+	/**
+	 * 在当前上下文中执行
+	 *
+	 * @param supplier supplier
+	 * @param <R>      泛型
+	 * @return R 函数返回
+	 */
+	public <R> R supply(Supplier<R> supplier) {
+		try {
+			return BladeContextHolder.call(this, supplier::get);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw Exceptions.unchecked(e);
+		}
+	}
+
+	/**
+	 * 在当前上下文中执行
+	 *
+	 * @param callable Callable
+	 * @param <V>      泛型
+	 * @return V 函数返回
+	 * @throws Exception 执行异常
+	 */
+	public <V> V call(Callable<V> callable) throws Exception {
+		return BladeContextHolder.call(this, callable);
+	}
+
+	/**
+	 * 包装任务，执行时绑定当前上下文
+	 *
+	 * @param runnable Runnable
+	 * @return Runnable
+	 */
+	public Runnable wrap(Runnable runnable) {
+		return isEmpty() ? runnable : () -> run(runnable);
+	}
+
+	/**
+	 * 包装任务，执行时绑定当前上下文
+	 *
+	 * @param callable Callable
+	 * @param <V>      泛型
+	 * @return Callable
+	 */
+	public <V> Callable<V> wrap(Callable<V> callable) {
+		return isEmpty() ? callable : () -> call(callable);
+	}
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.context;
+
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 传递上下文的线程池包装
+ *
+ * <p>
+ * 适用于无法设置 {@link org.springframework.core.task.TaskDecorator} 的线程池，
+ * 例如 CompletableFuture 及虚拟线程的并行调用。
+ * </p>
+ *
+ * @author Chill
+ */
+@AllArgsConstructor
+public class BladeContextExecutor implements Executor {
+
+	private final Executor delegate;
+
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(BladeContext.capture().wrap(command));
+	}
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+
+/**
+ * 请求上下文线程绑定
+ *
+ * <p>
+ * 默认使用 ThreadLocal 绑定；运行在 java 25 及以上版本时，向尚未绑定上下文的线程（如新建的虚拟线程）
+ * 传递上下文改用 ScopedValue，避免大量虚拟线程创建及复制 ThreadLocal 的开销。
+ * 当前线程通过 {@link #set(BladeContext)} 修改的上下文总是优先于 ScopedValue。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+public final class BladeContextHolder {
+
+	private static final ThreadLocal<BladeContext> CONTEXT_HOLDER = new NamedThreadLocal<>("blade-context");
+
+	/**
+	 * ScopedValue 绑定，运行环境不支持时为空
+	 */
+	@Nullable
+	private static final ScopedBinding SCOPED_BINDING = ScopedBinding.create();
+
+	private BladeContextHolder() {
+	}
+
+	/**
+	 * 获取当前线程绑定的上下文
+	 *
+	 * @return BladeContext
+	 */
+	@Nullable
+	public static BladeContext get() {
+		BladeContext context = CONTEXT_HOLDER.get();
+		if (context == null && SCOPED_BINDING != null) {
+			context = SCOPED_BINDING.get();
+		}
+		return context;
+	}
+
+	/**
+	 * 设置当前线程的上下文，上下文为空时清除
+	 *
+	 * @param context BladeContext
+	 */
+	public static void set(@Nullable BladeContext context) {
+		if (context == null || context.isEmpty()) {
+			CONTEXT_HOLDER.remove();
+		} else {
+			CONTEXT_HOLDER.set(context);
+		}
+	}
+
+	/**
+	 * 清除当前线程的上下文
+	 */
+	public static void remove() {
+		CONTEXT_HOLDER.remove();
+	}
+
+	/**
+	 * 绑定上下文执行，执行完成后恢复之前的上下文
+	 *
+	 * @param context  BladeContext
+	 * @param callable Callable
+	 * @param <V>      泛型
+	 * @return V 函数返回
+	 * @throws Exception 执行异常
+	 */
+	static <V> V call(BladeContext context, Callable<V> callable) throws Exception {
+		BladeContext previous = CONTEXT_HOLDER.get();
+		if (previous == null && SCOPED_BINDING != null) {
+			try {
+				return SCOPED_BINDING.call(context, callable);
+			} finally {
+				// 执行期间通过 set 修改的上下文不能遗留在线程中
+				CONTEXT_HOLDER.remove();
+			}
+		}
+		try {
+			set(context);
+			return callable.call();
+		} finally {
+			set(previous);
+		}
+	}
+
+	/**
+	 * ScopedValue 反射绑定，兼容 java 17 编译
+	 */
+	private static final class ScopedBinding {
+
+		/**
+		 * ScopedValue 在 java 25 正式发布，之前的版本为预览特性
+		 */
+		private static final int SCOPED_VALUE_FEATURE = 25;
+
+		private final MethodHandle isBound;
+		private final MethodHandle get;
+		private final MethodHandle where;
+		private final MethodHandle run;
+
+		private ScopedBinding(MethodHandle isBound, MethodHandle get, MethodHandle where, MethodHandle run) {
+			this.isBound = isBound;
+			this.get = get;
+			this.where = where;
+			this.run = run;
+		}
+
+		@Nullable
+		private static ScopedBinding create() {
+			if (Runtime.version().feature() < SCOPED_VALUE_FEATURE) {
+				return null;
+			}
+			try {
+				Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+				Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				Object scopedValue = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass)).invoke();
+				// orElse 在 java 25 中不再接受 null，先判断是否绑定再读取
+				MethodHandle isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class)).bindTo(scopedValue);
+				MethodHandle get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class)).bindTo(scopedValue);
+				MethodHandle where = MethodHandles.insertArguments(
+					lookup.findStatic(scopedValueClass, "where", MethodType.methodType(carrierClass, scopedValueClass, Object.class)), 0, scopedValue);
+				MethodHandle run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class));
+				return new ScopedBinding(isBound, get, where, run);
+			} catch (Throwable e) {
+				log.warn("ScopedValue is not available, fallback to ThreadLocal", e);
+				return null;
+			}
+		}
+
+		@Nullable
+		private BladeContext get() {
+			try {
+				return (boolean) isBound.invoke() ? (BladeContext) get.invoke() : null;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <V> V call(BladeContext context, Callable<V> callable) throws Exception {
+			Object[] result = new Object[1];
+			Exception[] error = new Exception[1];
+			Runnable task = () -> {
+				try {
+					result[0] = callable.call();
+				} catch (Exception e) {
+					error[0] = e;
+				}
+			};
+			try {
+				run.invoke(where.invoke(context), task);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+			if (error[0] != null) {
+				throw error[0];
+			}
+			return (V) result[0];
+		}
+
+	}
+
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 异步任务上下文传递
+ *
+ * <p>
+ * 提交任务时采集 {@link BladeContext}，执行时在工作线程中绑定，执行完成后恢复。
+ * </p>
+ *
+ * @author Chill
+ */
+public class BladeContextTaskDecorator implements TaskDecorator {
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		return BladeContext.capture().wrap(runnable);
+	}
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 接口权限变更事件
+ *
+ * <p>
+ * 角色接口权限变更后发布，开启内存权限索引时按角色增量刷新，角色集合为空则整体失效。
+ * </p>
+ *
+ * @author Chill
+ */
+public class ApiScopeEvent extends ApplicationEvent {
+
+	public ApiScopeEvent(List<Long> roleIds) {
+		super(roleIds == null ? Collections.emptyList() : roleIds);
+	}
+
+	/**
+	 * 获取权限变更的角色id集合
+	 *
+	 * @return roleIds
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Long> getRoleIds() {
+		return (List<Long>) getSource();
+	}
+
+}
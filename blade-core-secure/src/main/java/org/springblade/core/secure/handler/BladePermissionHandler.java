@@ -16,15 +16,18 @@
 package org.springblade.core.secure.handler;
 
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.AllArgsConstructor;
 import org.springblade.core.secure.BladeUser;
+import org.springblade.core.secure.event.ApiScopeEvent;
 import org.springblade.core.secure.utils.AuthUtil;
 import org.springblade.core.cache.utils.CacheUtil;
 import org.springblade.core.tool.utils.Func;
 import org.springblade.core.tool.utils.StringPool;
 import org.springblade.core.tool.utils.WebUtil;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -38,7 +41,6 @@ import static org.springblade.core.cache.utils.CacheUtil.SYS_CACHE;
  *
  * @author Chill
  */
-@AllArgsConstructor
 public class BladePermissionHandler implements IPermissionHandler {
 
 	private static final String SCOPE_CACHE_ROLE = "apiScope:role:";
@@ -47,6 +49,25 @@ public class BladePermissionHandler implements IPermissionHandler {
 
 	private final JdbcTemplate jdbcTemplate;
 
+	/**
+	 * 内存接口权限索引，为空时通过缓存及数据库校验权限
+	 */
+	@Nullable
+	private final PermissionIndex permissionIndex;
+
+	public BladePermissionHandler(JdbcTemplate jdbcTemplate) {
+		this(jdbcTemplate, null);
+	}
+
+	/**
+	 * @param jdbcTemplate           JdbcTemplate
+	 * @param permissionIndexRefresh 接口权限索引刷新间隔，为空则不启用接口权限索引
+	 */
+	public BladePermissionHandler(JdbcTemplate jdbcTemplate, @Nullable Duration permissionIndexRefresh) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.permissionIndex = permissionIndexRefresh == null ? null : new PermissionIndex(jdbcTemplate, permissionIndexRefresh);
+	}
+
 	@Override
 	public boolean permissionAll() {
 		HttpServletRequest request = WebUtil.getRequest();
@@ -55,6 +76,9 @@ public class BladePermissionHandler implements IPermissionHandler {
 			return false;
 		}
 		String uri = request.getRequestURI();
+		if (permissionIndex != null) {
+			return permissionIndex.hasPath(user.getRoleId(), uri);
+		}
 		List<String> paths = permissionPath(user.getRoleId());
 		if (paths.isEmpty()) {
 			return false;
@@ -69,10 +93,31 @@ public class BladePermissionHandler implements IPermissionHandler {
 		if (request == null || user == null) {
 			return false;
 		}
+		if (permissionIndex != null) {
+			return permissionIndex.hasCode(user.getRoleId(), permission);
+		}
 		List<String> codes = permissionCode(permission, user.getRoleId());
 		return !codes.isEmpty();
 	}
 
+	/**
+	 * 接口权限变更后刷新内存权限索引
+	 *
+	 * @param event 接口权限变更事件
+	 */
+	@EventListener(ApiScopeEvent.class)
+	public void onApiScopeChange(ApiScopeEvent event) {
+		if (permissionIndex == null) {
+			return;
+		}
+		List<Long> roleIds = event.getRoleIds();
+		if (roleIds.isEmpty()) {
+			permissionIndex.invalidate();
+		} else {
+			permissionIndex.refreshRoles(roleIds);
+		}
+	}
+
 	/**
 	 * 获取接口权限地址
 	 *
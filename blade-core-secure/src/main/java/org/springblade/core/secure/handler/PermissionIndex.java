@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.secure.constant.PermissionConstant;
+import org.springblade.core.tool.utils.Func;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存接口权限索引
+ *
+ * <p>
+ * 一次性加载全部接口权限，权限编号与权限地址分别驻留为整数编号，每个角色以位图保存所拥有的编号，
+ * 多角色用户按位或合并；权限地址存入字典树，单次扫描请求地址即可完成匹配，无需逐条比较。
+ * 索引超过刷新间隔后在下次访问时重建，角色权限变更后可调用 {@link #refreshRoles(Collection)} 增量刷新，
+ * 或调用 {@link #invalidate()} 立即失效。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+final class PermissionIndex {
+
+	/**
+	 * 缓存的角色组合数量上限，超出后按次合并不再缓存
+	 */
+	private static final int MAX_GRANT_CACHE = 4096;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long refreshNanos;
+
+	private volatile Snapshot snapshot;
+	private volatile long loadedAt;
+
+	PermissionIndex(JdbcTemplate jdbcTemplate, Duration refreshInterval) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.refreshNanos = refreshInterval.toNanos();
+	}
+
+	/**
+	 * 判断角色是否拥有匹配请求地址的接口权限，匹配规则与 {@link String#contains(CharSequence)} 一致
+	 *
+	 * @param roleId 角色id，多个以逗号分隔
+	 * @param uri    请求地址
+	 * @return {boolean}
+	 */
+	boolean hasPath(String roleId, String uri) {
+		Snapshot current = snapshot();
+		BitSet paths = current.grant(roleId).paths();
+		return !paths.isEmpty() && current.trie.matches(uri, paths);
+	}
+
+	/**
+	 * 判断角色是否拥有指定权限编号
+	 *
+	 * @param roleId 角色id，多个以逗号分隔
+	 * @param code   权限编号
+	 * @return {boolean}
+	 */
+	boolean hasCode(String roleId, String code) {
+		Snapshot current = snapshot();
+		Integer id = current.codeIds.get(code);
+		return id != null && current.grant(roleId).codes().get(id);
+	}
+
+	/**
+	 * 增量刷新指定角色的接口权限
+	 *
+	 * @param roleIds 角色id集合
+	 */
+	void refreshRoles(Collection<Long> roleIds) {
+		if (roleIds.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			Snapshot current = snapshot;
+			// 尚未加载时无需刷新，下次访问时全量加载
+			if (current == null) {
+				return;
+			}
+			Builder builder = new Builder(current, roleIds);
+			jdbcTemplate.query(PermissionConstant.permissionIndexStatement(roleIds.size()), builder::accept, roleIds.toArray());
+			snapshot = builder.build();
+		}
+	}
+
+	/**
+	 * 使索引失效，下次访问时重建
+	 */
+	void invalidate() {
+		snapshot = null;
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+			return current;
+		}
+		synchronized (this) {
+			current = snapshot;
+			if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+				return current;
+			}
+			try {
+				current = load();
+			} catch (RuntimeException e) {
+				if (current == null) {
+					throw e;
+				}
+				// 重建失败时沿用旧索引，等待下个刷新周期
+				log.warn("permission index reload failed, keep previous index", e);
+			}
+			snapshot = current;
+			loadedAt = System.nanoTime();
+			return current;
+		}
+	}
+
+	private Snapshot load() {
+		Builder builder = new Builder(null, Collections.emptyList());
+		jdbcTemplate.query(PermissionConstant.PERMISSION_INDEX_ALL, builder::accept);
+		return builder.build();
+	}
+
+	/**
+	 * 角色授权位图，构建完成后不再修改
+	 *
+	 * @param codes 权限编号位图
+	 * @param paths 权限地址位图
+	 */
+	private record Grant(BitSet codes, BitSet paths) {
+
+		private static final Grant EMPTY = new Grant(new BitSet(0), new BitSet(0));
+
+		private Grant() {
+			this(new BitSet(), new BitSet());
+		}
+
+	}
+
+	/**
+	 * 索引快照，发布后只读
+	 */
+	private static final class Snapshot {
+
+		private final Map<String, Integer> codeIds;
+		private final Map<String, Integer> pathIds;
+		private final List<String> paths;
+		private final Map<Long, Grant> roles;
+		private final PathTrie trie;
+		private final Map<String, Grant> grants = new ConcurrentHashMap<>();
+
+		private Snapshot(Map<String, Integer> codeIds, Map<String, Integer> pathIds, List<String> paths, Map<Long, Grant> roles) {
+			this.codeIds = codeIds;
+			this.pathIds = pathIds;
+			this.paths = paths;
+			this.roles = roles;
+			this.trie = PathTrie.build(paths);
+		}
+
+		private Grant grant(String roleId) {
+			Grant grant = grants.get(roleId);
+			if (grant != null) {
+				return grant;
+			}
+			grant = merge(roleId);
+			if (grants.size() < MAX_GRANT_CACHE) {
+				grants.put(roleId, grant);
+			}
+			return grant;
+		}
+
+		private Grant merge(String roleId) {
+			List<Long> roleIds = Func.toLongList(roleId);
+			if (roleIds.size() == 1) {
+				return roles.getOrDefault(roleIds.get(0), Grant.EMPTY);
+			}
+			Grant merged = new Grant();
+			for (Long id : roleIds) {
+				Grant grant = roles.get(id);
+				if (grant != null) {
+					merged.codes().or(grant.codes());
+					merged.paths().or(grant.paths());
+				}
+			}
+			return merged;
+		}
+
+	}
+
+	/**
+	 * 快照构建器，增量刷新时沿用已驻留的编号，仅重建指定角色的位图
+	 */
+	private static final class Builder {
+
+		private final Map<String, Integer> codeIds;
+		private final Map<String, Integer> pathIds;
+		private final List<String> paths;
+		private final Map<Long, Grant> roles;
+		private final Map<Long, Grant> building = new HashMap<>(64);
+
+		private Builder(Snapshot base, Collection<Long> refreshRoles) {
+			if (base == null) {
+				this.codeIds = new HashMap<>(256);
+				this.pathIds = new HashMap<>(256);
+				this.paths = new ArrayList<>(256);
+				this.roles = new HashMap<>(64);
+			} else {
+				this.codeIds = new HashMap<>(base.codeIds);
+				this.pathIds = new HashMap<>(base.pathIds);
+				this.paths = new ArrayList<>(base.paths);
+				this.roles = new HashMap<>(base.roles);
+				refreshRoles.forEach(this.roles::remove);
+			}
+		}
+
+		private void accept(ResultSet rs) throws SQLException {
+			Grant grant = building.computeIfAbsent(rs.getLong(1), key -> new Grant());
+			String code = rs.getString(2);
+			if (code != null) {
+				grant.codes().set(codeIds.computeIfAbsent(code, key -> codeIds.size()));
+			}
+			String path = rs.getString(3);
+			if (path != null) {
+				grant.paths().set(pathIds.computeIfAbsent(path, key -> {
+					paths.add(key);
+					return paths.size() - 1;
+				}));
+			}
+		}
+
+		private Snapshot build() {
+			roles.putAll(building);
+			return new Snapshot(Collections.unmodifiableMap(codeIds), Collections.unmodifiableMap(pathIds),
+				Collections.unmodifiableList(paths), Collections.unmodifiableMap(roles));
+		}
+
+	}
+
+	/**
+	 * 权限地址字典树，子节点按字符有序存放以便二分查找
+	 */
+	private static final class PathTrie {
+
+		private final char[] keys;
+		private final PathTrie[] children;
+		private final int pathId;
+
+		private PathTrie(char[] keys, PathTrie[] children, int pathId) {
+			this.keys = keys;
+			this.children = children;
+			this.pathId = pathId;
+		}
+
+		private static PathTrie build(List<String> paths) {
+			Node root = new Node();
+			for (int i = 0; i < paths.size(); i++) {
+				Node node = root;
+				String path = paths.get(i);
+				for (int j = 0; j < path.length(); j++) {
+					node = node.children.computeIfAbsent(path.charAt(j), key -> new Node());
+				}
+				node.pathId = i;
+			}
+			return root.freeze();
+		}
+
+		/**
+		 * 以请求地址的每个位置为起点沿字典树匹配，任一已授权的权限地址为其子串即命中
+		 */
+		private boolean matches(String uri, BitSet granted) {
+			if (pathId >= 0 && granted.get(pathId)) {
+				return true;
+			}
+			int length = uri.length();
+			for (int start = 0; start < length; start++) {
+				PathTrie node = this;
+				for (int i = start; i < length; i++) {
+					node = node.child(uri.charAt(i));
+					if (node == null) {
+						break;
+					}
+					if (node.pathId >= 0 && granted.get(node.pathId)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		private PathTrie child(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			return index < 0 ? null : children[index];
+		}
+
+		private static final class Node {
+
+			private final TreeMap<Character, Node> children = new TreeMap<>();
+			private int pathId = -1;
+
+			private PathTrie freeze() {
+				char[] keys = new char[children.size()];
+				PathTrie[] nodes = new PathTrie[children.size()];
+				int i = 0;
+				for (Map.Entry<Character, Node> entry : children.entrySet()) {
+					keys[i] = entry.getKey();
+					nodes[i++] = entry.getValue().freeze();
+				}
+				return new PathTrie(keys, nodes, pathId);
+			}
+
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springblade.core.secure.props;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,4 +35,21 @@ public class BladeSecureProperties {
 
 	private final List<String> skipUrl = new ArrayList<>();
 
+	/**
+	 * 内存接口权限索引
+	 */
+	private final PermissionIndex permissionIndex = new PermissionIndex();
+
+	@Data
+	public static class PermissionIndex {
+		/**
+		 * 开启内存接口权限索引，校验接口权限时不再访问缓存及数据库
+		 */
+		private Boolean enabled = false;
+		/**
+		 * 索引刷新间隔，角色权限变更可发布 ApiScopeEvent 即时刷新
+		 */
+		private Duration refresh = Duration.ofMinutes(5);
+	}
+
 }
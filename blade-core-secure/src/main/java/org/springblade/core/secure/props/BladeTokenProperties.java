@@ -22,6 +22,8 @@ import org.springblade.core.launch.constant.TokenConstant;
 import org.springblade.core.tool.utils.StringPool;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * secure放行额外配置
  *
@@ -42,6 +44,16 @@ public class BladeTokenProperties {
 	 */
 	private String aesKey = StringPool.EMPTY;
 
+	/**
+	 * 已校验token的claims缓存配置
+	 */
+	private ClaimsCache claimsCache = new ClaimsCache();
+
+	/**
+	 * 客户端详情缓存配置
+	 */
+	private ClientCache clientCache = new ClientCache();
+
 	/**
 	 * 获取签名规则
 	 */
@@ -52,4 +64,51 @@ public class BladeTokenProperties {
 		return this.signKey;
 	}
 
+	/**
+	 * claims缓存配置
+	 */
+	@Data
+	public static class ClaimsCache {
+		/**
+		 * 是否开启
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 最大缓存数量
+		 */
+		private long maximumSize = 10000L;
+
+		/**
+		 * 最长缓存时间, token过期时间更早时以token过期时间为准
+		 */
+		private Duration expire = Duration.ofMinutes(30);
+	}
+
+	/**
+	 * 客户端详情缓存配置
+	 */
+	@Data
+	public static class ClientCache {
+		/**
+		 * 是否开启
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 最大缓存数量
+		 */
+		private long maximumSize = 1000L;
+
+		/**
+		 * 客户端详情缓存时间, 客户端密钥等信息变更后最迟在该时间后生效
+		 */
+		private Duration expire = Duration.ofMinutes(1);
+
+		/**
+		 * 不存在的客户端缓存时间
+		 */
+		private Duration negativeExpire = Duration.ofSeconds(10);
+	}
+
 }
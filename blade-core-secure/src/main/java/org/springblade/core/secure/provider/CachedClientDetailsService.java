@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.secure.provider;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.secure.props.BladeTokenProperties;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带缓存的客户端详情
+ *
+ * <p>
+ * 按 clientId 缓存客户端详情，同一 clientId 的并发加载只访问一次数据源；
+ * 不存在的客户端按较短的时间缓存空结果，避免非法 clientId 持续穿透到数据库；
+ * 查询失败不会缓存，下次访问重新查询。
+ * 客户端信息变更后可调用 {@link #invalidate(String)} 或 {@link #refresh(String)} 立即生效。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+public class CachedClientDetailsService implements IClientDetailsService {
+
+	private final IClientDetailsService delegate;
+	private final long negativeExpireNanos;
+	private final Cache<String, Entry> cache;
+
+	public CachedClientDetailsService(IClientDetailsService delegate, BladeTokenProperties.ClientCache config) {
+		this.delegate = delegate;
+		this.negativeExpireNanos = config.getNegativeExpire().toNanos();
+		this.cache = CacheBuilder.newBuilder()
+			.maximumSize(config.getMaximumSize())
+			.expireAfterWrite(config.getExpire().toMillis(), TimeUnit.MILLISECONDS)
+			.recordStats()
+			.build();
+	}
+
+	@Override
+	public IClientDetails loadClientByClientId(String clientId) {
+		if (clientId == null) {
+			return null;
+		}
+		Entry entry = load(clientId);
+		if (entry.details == null && System.nanoTime() - entry.loadedAt >= negativeExpireNanos) {
+			// 空结果已超过缓存时间，重新加载
+			cache.asMap().remove(clientId, entry);
+			entry = load(clientId);
+		}
+		return entry.details;
+	}
+
+	/**
+	 * 重新加载客户端详情
+	 *
+	 * @param clientId 客户端id
+	 * @return IClientDetails
+	 */
+	public IClientDetails refresh(String clientId) {
+		cache.invalidate(clientId);
+		return loadClientByClientId(clientId);
+	}
+
+	/**
+	 * 清除客户端详情缓存
+	 *
+	 * @param clientId 客户端id
+	 */
+	public void invalidate(String clientId) {
+		cache.invalidate(clientId);
+	}
+
+	/**
+	 * 清除全部客户端详情缓存
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * 获取缓存统计
+	 *
+	 * @return CacheStats
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	/**
+	 * 获取缓存数量
+	 *
+	 * @return size
+	 */
+	public long size() {
+		return cache.size();
+	}
+
+	private Entry load(String clientId) {
+		try {
+			return cache.get(clientId, () -> new Entry(delegate.findClientByClientId(clientId)));
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			// 查询失败不缓存，与未开启缓存时一样返回空
+			log.warn("Load client details failed, clientId:{}", clientId, e.getCause());
+			return new Entry(null);
+		}
+	}
+
+	/**
+	 * 缓存项，details 为空表示客户端不存在
+	 */
+	private static final class Entry {
+
+		private final IClientDetails details;
+		private final long loadedAt = System.nanoTime();
+
+		private Entry(IClientDetails details) {
+			this.details = details;
+		}
+
+	}
+
+}
@@ -17,8 +17,11 @@ package org.springblade.core.secure.provider;
 
 import lombok.AllArgsConstructor;
 import org.springblade.core.secure.constant.SecureConstant;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.util.List;
 
 /**
  * 获取客户端详情
@@ -28,15 +31,33 @@ import org.springframework.jdbc.core.JdbcTemplate;
 @AllArgsConstructor
 public class ClientDetailsServiceImpl implements IClientDetailsService {
 
+	/**
+	 * 按 {@link SecureConstant#CLIENT_FIELDS} 的列顺序映射，避免每次查询反射解析属性
+	 */
+	private static final RowMapper<IClientDetails> ROW_MAPPER = (rs, rowNum) -> {
+		ClientDetails details = new ClientDetails();
+		details.setClientId(rs.getString(1));
+		details.setClientSecret(rs.getString(2));
+		details.setAccessTokenValidity((Integer) JdbcUtils.getResultSetValue(rs, 3, Integer.class));
+		details.setRefreshTokenValidity((Integer) JdbcUtils.getResultSetValue(rs, 4, Integer.class));
+		return details;
+	};
+
 	private final JdbcTemplate jdbcTemplate;
 
 	@Override
 	public IClientDetails loadClientByClientId(String clientId) {
 		try {
-			return jdbcTemplate.queryForObject(SecureConstant.DEFAULT_SELECT_STATEMENT, new String[]{clientId}, new BeanPropertyRowMapper<>(ClientDetails.class));
+			return findClientByClientId(clientId);
 		} catch (Exception ex) {
 			return null;
 		}
 	}
 
+	@Override
+	public IClientDetails findClientByClientId(String clientId) {
+		List<IClientDetails> details = jdbcTemplate.query(SecureConstant.DEFAULT_SELECT_STATEMENT, ROW_MAPPER, clientId);
+		return details.size() == 1 ? details.get(0) : null;
+	}
+
 }
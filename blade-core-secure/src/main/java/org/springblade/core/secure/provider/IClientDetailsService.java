@@ -30,4 +30,19 @@ public interface IClientDetailsService {
 	 */
 	IClientDetails loadClientByClientId(String clientId);
 
+	/**
+	 * 根据clientId获取Client详情，查询失败时抛出异常而不是返回空
+	 *
+	 * <p>
+	 * 供缓存区分客户端不存在与查询失败，只有客户端确实不存在时才缓存空结果；
+	 * 自定义实现的 loadClientByClientId 会吞掉异常时应重写该方法。
+	 * </p>
+	 *
+	 * @param clientId 客户端id
+	 * @return IClientDetails，客户端不存在时为空
+	 */
+	default IClientDetails findClientByClientId(String clientId) {
+		return loadClientByClientId(clientId);
+	}
+
 }
@@ -15,8 +15,12 @@
  */
 package org.springblade.core.secure.utils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +29,8 @@ import org.springblade.core.launch.constant.TokenConstant;
 import org.springblade.core.secure.BladeUser;
 import org.springblade.core.secure.TokenInfo;
 import org.springblade.core.secure.constant.SecureConstant;
+import org.springblade.core.secure.context.BladeContext;
+import org.springblade.core.secure.context.BladeContextHolder;
 import org.springblade.core.secure.exception.SecureException;
 import org.springblade.core.secure.props.BladeTokenProperties;
 import org.springblade.core.secure.provider.IClientDetails;
@@ -34,6 +40,8 @@ import org.springblade.core.tool.utils.*;
 
 import javax.crypto.SecretKey;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Secure工具类
@@ -58,7 +66,13 @@ public class SecureUtil {
 	private static IClientDetailsService CLIENT_DETAILS_SERVICE;
 	private static BladeTokenProperties TOKEN_PROPERTIES;
 	private static String BASE64_SECURITY;
-
+	private static SecretKey SIGNING_KEY;
+	private static JwtParser JWT_PARSER;
+	private static final Lazy<Cache<String, Claims>> CLAIMS_CACHE = Lazy.of(SecureUtil::buildClaimsCache);
+	private static final LongAdder CLAIMS_EXPIRED = new LongAdder();
+	private static final LongAdder TOKEN_MINTED = new LongAdder();
+	private static final LongAdder TOKEN_REJECTED = new LongAdder();
+	private static final Map<String, Object> JWT_HEADER = Collections.singletonMap("typ", "JWT");
 
 	/**
 	 * 获取客户端服务类
@@ -96,12 +110,81 @@ public class SecureUtil {
 		return BASE64_SECURITY;
 	}
 
+	/**
+	 * 获取Token签名密钥
+	 *
+	 * @return SecretKey
+	 */
+	private static SecretKey getSigningKey() {
+		if (SIGNING_KEY == null) {
+			SIGNING_KEY = Keys.hmacShaKeyFor(Base64.getDecoder().decode(getBase64Security()));
+		}
+		return SIGNING_KEY;
+	}
+
+	/**
+	 * 获取Token解析器
+	 *
+	 * @return JwtParser
+	 */
+	private static JwtParser getJwtParser() {
+		if (JWT_PARSER == null) {
+			JWT_PARSER = Jwts.parser().verifyWith(getSigningKey()).build();
+		}
+		return JWT_PARSER;
+	}
+
+	/**
+	 * 构建已校验token的claims缓存
+	 *
+	 * @return Cache
+	 */
+	private static Cache<String, Claims> buildClaimsCache() {
+		BladeTokenProperties.ClaimsCache config = getTokenProperties().getClaimsCache();
+		if (!config.isEnabled()) {
+			return null;
+		}
+		return CacheBuilder.newBuilder()
+			.maximumSize(config.getMaximumSize())
+			.expireAfterWrite(config.getExpire().toMillis(), TimeUnit.MILLISECONDS)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * 获取已校验token的claims缓存
+	 *
+	 * @return Cache, 未开启时返回null
+	 */
+	public static Cache<String, Claims> getClaimsCache() {
+		return CLAIMS_CACHE.get();
+	}
+
+	/**
+	 * 获取claims缓存统计, 淘汰数包含到期失效的token
+	 *
+	 * @return CacheStats
+	 */
+	public static CacheStats getClaimsCacheStats() {
+		Cache<String, Claims> cache = getClaimsCache();
+		if (cache == null) {
+			return new CacheStats(0, 0, 0, 0, 0, 0);
+		}
+		CacheStats stats = cache.stats();
+		return new CacheStats(stats.hitCount(), stats.missCount(), stats.loadSuccessCount(), stats.loadExceptionCount(), stats.totalLoadTime(), stats.evictionCount() + CLAIMS_EXPIRED.sum());
+	}
+
 	/**
 	 * 获取用户信息
 	 *
 	 * @return BladeUser
 	 */
 	public static BladeUser getUser() {
+		// 异步线程中从传递的上下文获取
+		BladeContext context = BladeContextHolder.get();
+		if (context != null && context.getUser() != null) {
+			return context.getUser();
+		}
 		HttpServletRequest request = WebUtil.getRequest();
 		if (request == null) {
 			return null;
@@ -415,9 +498,41 @@ public class SecureUtil {
 	 * @return Claims
 	 */
 	public static Claims parseJWT(String jsonWebToken) {
+		if (StringUtil.isBlank(jsonWebToken)) {
+			return null;
+		}
+		Cache<String, Claims> cache = getClaimsCache();
+		if (cache == null) {
+			return verifyJWT(jsonWebToken);
+		}
+		String cacheKey = DigestUtil.sha256(jsonWebToken);
+		Claims claims = cache.getIfPresent(cacheKey);
+		if (claims != null) {
+			Date expiration = claims.getExpiration();
+			if (expiration == null || expiration.getTime() > System.currentTimeMillis()) {
+				return claims;
+			}
+			// token已过期, 从缓存中移除
+			cache.invalidate(cacheKey);
+			CLAIMS_EXPIRED.increment();
+			return null;
+		}
+		claims = verifyJWT(jsonWebToken);
+		if (claims != null) {
+			cache.put(cacheKey, claims);
+		}
+		return claims;
+	}
+
+	/**
+	 * 校验签名并解析jsonWebToken
+	 *
+	 * @param jsonWebToken jsonWebToken
+	 * @return Claims
+	 */
+	private static Claims verifyJWT(String jsonWebToken) {
 		try {
-			return Jwts.parser()
-				.verifyWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(getBase64Security()))).build()
+			return getJwtParser()
 				.parseSignedClaims(jsonWebToken)
 				.getPayload();
 		} catch (Exception ex) {
@@ -446,17 +561,18 @@ public class SecureUtil {
 
 		// 校验客户端信息
 		if (!validateClient(clientDetails, clientId, clientSecret)) {
+			TOKEN_REJECTED.increment();
 			throw new SecureException("客户端认证失败!");
 		}
 
 		long nowMillis = System.currentTimeMillis();
 		Date now = new Date(nowMillis);
 
-		// 生成签名密钥
-		SecretKey signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(getBase64Security()));
+		// 获取签名密钥
+		SecretKey signingKey = getSigningKey();
 
 		// 添加构成JWT的类
-		JwtBuilder builder = Jwts.builder().header().add("typ", "JWT")
+		JwtBuilder builder = Jwts.builder().header().add(JWT_HEADER)
 			.and().issuer(issuer).audience().add(audience)
 			.and().signWith(signingKey);
 
@@ -483,10 +599,29 @@ public class SecureUtil {
 		TokenInfo tokenInfo = new TokenInfo();
 		tokenInfo.setToken(builder.compact());
 		tokenInfo.setExpire((int) (expireMillis / 1000));
+		TOKEN_MINTED.increment();
 
 		return tokenInfo;
 	}
 
+	/**
+	 * 获取已签发的令牌数量
+	 *
+	 * @return count
+	 */
+	public static long getTokenMintCount() {
+		return TOKEN_MINTED.sum();
+	}
+
+	/**
+	 * 获取客户端认证失败而拒绝签发的令牌数量
+	 *
+	 * @return count
+	 */
+	public static long getTokenRejectCount() {
+		return TOKEN_REJECTED.sum();
+	}
+
 	/**
 	 * 获取过期时间(次日凌晨3点)
 	 *
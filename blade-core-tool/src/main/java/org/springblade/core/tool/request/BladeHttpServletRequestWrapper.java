@@ -15,16 +15,13 @@
  */
 package org.springblade.core.tool.request;
 
-import org.springblade.core.tool.utils.WebUtil;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
-import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 
@@ -66,32 +63,10 @@ public class BladeHttpServletRequestWrapper extends HttpServletRequestWrapper {
 		}
 
 		if (body == null) {
-			body = WebUtil.getRequestBody(super.getInputStream()).getBytes();
+			body = super.getInputStream().readAllBytes();
 		}
 
-		final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(body);
-
-		return new ServletInputStream() {
-
-			@Override
-			public int read() {
-				return byteArrayInputStream.read();
-			}
-
-			@Override
-			public boolean isFinished() {
-				return false;
-			}
-
-			@Override
-			public boolean isReady() {
-				return false;
-			}
-
-			@Override
-			public void setReadListener(ReadListener readListener) {
-			}
-		};
+		return new CachedBodyServletInputStream(body);
 	}
 
 	/**
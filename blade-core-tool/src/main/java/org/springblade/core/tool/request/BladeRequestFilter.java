@@ -15,15 +15,13 @@
  */
 package org.springblade.core.tool.request;
 
-import lombok.AllArgsConstructor;
 import org.springblade.core.tool.utils.WebUtil;
-import org.springframework.util.AntPathMatcher;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.util.PatternMatchUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -31,7 +29,6 @@ import java.util.List;
  *
  * @author Chill
  */
-@AllArgsConstructor
 public class BladeRequestFilter implements Filter {
 
 	/**
@@ -42,10 +39,6 @@ public class BladeRequestFilter implements Filter {
 	 * xss配置
 	 */
 	private final XssProperties xssProperties;
-	/**
-	 * 路径匹配
-	 */
-	private final AntPathMatcher antPathMatcher = new AntPathMatcher();
 
 	/**
 	 * 默认拦截路径
@@ -59,6 +52,16 @@ public class BladeRequestFilter implements Filter {
 	 * 默认提示信息
 	 */
 	private final static String DEFAULT_MESSAGE = "当前请求被拒绝，请联系管理员！";
+	/**
+	 * 预编译的匹配规则，配置刷新后重建
+	 */
+	private volatile Rules rules;
+
+	public BladeRequestFilter(RequestProperties requestProperties, XssProperties xssProperties) {
+		this.requestProperties = requestProperties;
+		this.xssProperties = xssProperties;
+		this.rules = compile();
+	}
 
 	@Override
 	public void init(FilterConfig config) {
@@ -96,59 +99,91 @@ public class BladeRequestFilter implements Filter {
 	}
 
 	/**
-	 * 是否白名单
+	 * 是否拦截请求
 	 *
-	 * @param ip ip地址
+	 * @param path 请求路径
+	 * @param ip   ip地址
 	 * @return boolean
 	 */
-	private boolean isWhiteList(String ip) {
-		List<String> whiteList = requestProperties.getWhiteList();
-		String[] defaultWhiteIps = defaultWhiteList.toArray(new String[0]);
-		String[] whiteIps = whiteList.toArray(new String[0]);
-		return PatternMatchUtils.simpleMatch(defaultWhiteIps, ip) || PatternMatchUtils.simpleMatch(whiteIps, ip);
+	private boolean isRequestBlock(String path, String ip) {
+		Rules current = getRules();
+		return (current.blockUrl.matches(path) && !current.whiteList.matches(ip)) || current.blackList.matches(ip);
 	}
 
-	/**
-	 * 是否黑名单
-	 *
-	 * @param ip ip地址
-	 * @return boolean
-	 */
-	private boolean isBlackList(String ip) {
-		List<String> blackList = requestProperties.getBlackList();
-		String[] blackIps = blackList.toArray(new String[0]);
-		return PatternMatchUtils.simpleMatch(blackIps, ip);
+	private boolean isRequestSkip(String path) {
+		return getRules().skipUrl.matches(path);
+	}
+
+	private boolean isXssSkip(String path) {
+		return getRules().xssSkipUrl.matches(path);
 	}
 
 	/**
-	 * 是否禁用请求访问
+	 * 获取匹配规则，配置中的列表被替换后（如配置刷新）重新编译
 	 *
-	 * @param path 请求路径
-	 * @return boolean
+	 * @return Rules
 	 */
-	private boolean isRequestBlock(String path) {
+	private Rules getRules() {
+		Rules current = this.rules;
+		if (!current.isStale(requestProperties, xssProperties)) {
+			return current;
+		}
+		synchronized (this) {
+			current = this.rules;
+			if (current.isStale(requestProperties, xssProperties)) {
+				current = compile();
+				this.rules = current;
+			}
+			return current;
+		}
+	}
+
+	private Rules compile() {
+		List<String> skipUrl = requestProperties.getSkipUrl();
 		List<String> blockUrl = requestProperties.getBlockUrl();
-		return defaultBlockUrl.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path)) ||
-			blockUrl.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+		List<String> whiteList = requestProperties.getWhiteList();
+		List<String> blackList = requestProperties.getBlackList();
+		List<String> xssSkipUrl = xssProperties.getSkipUrl();
+		List<String> blockPatterns = new ArrayList<>(defaultBlockUrl);
+		blockPatterns.addAll(blockUrl);
+		List<String> whitePatterns = new ArrayList<>(defaultWhiteList);
+		whitePatterns.addAll(whiteList);
+		return new Rules(
+			new Object[]{skipUrl, blockUrl, whiteList, blackList, xssSkipUrl},
+			new int[]{skipUrl.size(), blockUrl.size(), whiteList.size(), blackList.size(), xssSkipUrl.size()},
+			new PathPatternMatcher(skipUrl),
+			new PathPatternMatcher(blockPatterns),
+			new IpPatternMatcher(whitePatterns),
+			new IpPatternMatcher(blackList),
+			new PathPatternMatcher(xssSkipUrl)
+		);
 	}
 
 	/**
-	 * 是否拦截请求
+	 * 预编译的匹配规则
 	 *
-	 * @param path 请求路径
-	 * @param ip   ip地址
-	 * @return boolean
+	 * @param sources    编译时的配置列表
+	 * @param sizes      编译时的配置列表长度
+	 * @param skipUrl    放行url
+	 * @param blockUrl   禁用url（含默认拦截路径）
+	 * @param whiteList  白名单（含默认白名单）
+	 * @param blackList  黑名单
+	 * @param xssSkipUrl xss放行url
 	 */
-	private boolean isRequestBlock(String path, String ip) {
-		return (isRequestBlock(path) && !isWhiteList(ip)) || isBlackList(ip);
-	}
-
-	private boolean isRequestSkip(String path) {
-		return requestProperties.getSkipUrl().stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
-	}
+	private record Rules(Object[] sources, int[] sizes, PathPatternMatcher skipUrl, PathPatternMatcher blockUrl,
+						 IpPatternMatcher whiteList, IpPatternMatcher blackList, PathPatternMatcher xssSkipUrl) {
+
+		boolean isStale(RequestProperties requestProperties, XssProperties xssProperties) {
+			return isChanged(0, requestProperties.getSkipUrl())
+				|| isChanged(1, requestProperties.getBlockUrl())
+				|| isChanged(2, requestProperties.getWhiteList())
+				|| isChanged(3, requestProperties.getBlackList())
+				|| isChanged(4, xssProperties.getSkipUrl());
+		}
 
-	private boolean isXssSkip(String path) {
-		return xssProperties.getSkipUrl().stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+		private boolean isChanged(int index, List<String> source) {
+			return sources[index] != source || sizes[index] != source.size();
+		}
 	}
 
 	@Override
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.tool.request;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+/**
+ * 缓存报文的 ServletInputStream，支持批量读取
+ *
+ * @author Chill
+ */
+class CachedBodyServletInputStream extends ServletInputStream {
+
+	private final byte[] body;
+	private int pos;
+
+	CachedBodyServletInputStream(byte[] body) {
+		this.body = body;
+	}
+
+	@Override
+	public int read() {
+		return pos < body.length ? body[pos++] & 0xff : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		int remaining = body.length - pos;
+		if (remaining <= 0) {
+			return -1;
+		}
+		int n = Math.min(len, remaining);
+		System.arraycopy(body, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public long skip(long n) {
+		int skipped = (int) Math.max(0, Math.min(n, body.length - pos));
+		pos += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return body.length - pos;
+	}
+
+	@Override
+	public boolean isFinished() {
+		return pos >= body.length;
+	}
+
+	@Override
+	public boolean isReady() {
+		return true;
+	}
+
+	@Override
+	public void setReadListener(ReadListener readListener) {
+	}
+
+}
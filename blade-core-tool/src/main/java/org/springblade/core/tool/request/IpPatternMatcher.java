@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.tool.request;
+
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+
+/**
+ * 预编译的 IP 匹配
+ *
+ * <p>
+ * 支持精确 IP、通配符（例如：10.20.0.8*、10.20.0.*）以及 CIDR（例如：10.0.0.0/8）。
+ * 精确 IP 与按段通配的 IPv4 走哈希表，IPv4 CIDR 按掩码长度分组查表，其余通配符规则回退到 PatternMatchUtils。
+ * </p>
+ *
+ * @author Chill
+ */
+final class IpPatternMatcher {
+
+	private static final String CIDR_SEPARATOR = "/";
+	private static final String WILDCARD = "*";
+
+	/**
+	 * 精确 IP
+	 */
+	private final Set<String> exactIps = new HashSet<>();
+	/**
+	 * 按段通配的 IPv4 前缀，例如：10.20.
+	 */
+	private final Set<String> octetPrefixes = new HashSet<>();
+	/**
+	 * 任意前缀，例如：10.20.0.8
+	 */
+	private final List<String> prefixes = new ArrayList<>();
+	/**
+	 * IPv4 CIDR，掩码长度 -> 网络地址
+	 */
+	private final Map<Integer, Set<Integer>> ipv4Networks = new TreeMap<>(Comparator.reverseOrder());
+	/**
+	 * IPv6 CIDR
+	 */
+	private final List<byte[]> ipv6Networks = new ArrayList<>();
+	private final List<Integer> ipv6PrefixLengths = new ArrayList<>();
+	/**
+	 * 其余通配符规则
+	 */
+	private final String[] patterns;
+	private final boolean empty;
+
+	IpPatternMatcher(Collection<String> ipPatterns) {
+		List<String> rest = new ArrayList<>();
+		for (String pattern : ipPatterns) {
+			if (StringUtils.hasText(pattern) && !compile(pattern.trim())) {
+				rest.add(pattern.trim());
+			}
+		}
+		this.patterns = rest.toArray(new String[0]);
+		this.empty = exactIps.isEmpty() && octetPrefixes.isEmpty() && prefixes.isEmpty()
+			&& ipv4Networks.isEmpty() && ipv6Networks.isEmpty() && patterns.length == 0;
+	}
+
+	/**
+	 * 是否匹配
+	 *
+	 * @param ip ip地址
+	 * @return boolean
+	 */
+	boolean matches(String ip) {
+		if (empty || ip == null) {
+			return false;
+		}
+		if (exactIps.contains(ip)) {
+			return true;
+		}
+		if (!octetPrefixes.isEmpty() && isIpv4(ip)) {
+			int dot = ip.indexOf('.');
+			while (dot > 0) {
+				if (octetPrefixes.contains(ip.substring(0, dot + 1))) {
+					return true;
+				}
+				dot = ip.indexOf('.', dot + 1);
+			}
+		}
+		for (String prefix : prefixes) {
+			if (ip.startsWith(prefix)) {
+				return true;
+			}
+		}
+		if (!ipv4Networks.isEmpty() || !ipv6Networks.isEmpty()) {
+			byte[] address = toAddress(ip);
+			if (address != null && matchesNetwork(address)) {
+				return true;
+			}
+		}
+		return patterns.length > 0 && PatternMatchUtils.simpleMatch(patterns, ip);
+	}
+
+	private boolean compile(String pattern) {
+		int cidr = pattern.indexOf(CIDR_SEPARATOR);
+		if (cidr > 0) {
+			return compileCidr(pattern.substring(0, cidr), pattern.substring(cidr + 1));
+		}
+		int wildcard = pattern.indexOf(WILDCARD);
+		if (wildcard < 0) {
+			exactIps.add(pattern);
+			return true;
+		}
+		// 10.20.*.*
+		String[] octets = StringUtils.delimitedListToStringArray(pattern, ".");
+		if (octets.length == 4) {
+			int literal = 0;
+			while (literal < 4 && isOctet(octets[literal])) {
+				literal++;
+			}
+			boolean trailingWildcards = literal > 0;
+			for (int i = literal; i < 4; i++) {
+				trailingWildcards &= WILDCARD.equals(octets[i]);
+			}
+			if (trailingWildcards) {
+				octetPrefixes.add(String.join(".", Arrays.copyOf(octets, literal)) + ".");
+				return true;
+			}
+		}
+		// 10.20.0.8*
+		if (wildcard == pattern.length() - 1) {
+			prefixes.add(pattern.substring(0, wildcard));
+			return true;
+		}
+		return false;
+	}
+
+	private boolean compileCidr(String network, String prefixLength) {
+		byte[] address = toAddress(network);
+		int length;
+		try {
+			length = Integer.parseInt(prefixLength);
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		if (address == null || length < 0 || length > address.length * 8) {
+			return false;
+		}
+		if (address.length == 4) {
+			ipv4Networks.computeIfAbsent(length, key -> new HashSet<>()).add(toInt(address) & mask(length));
+		} else {
+			ipv6Networks.add(address);
+			ipv6PrefixLengths.add(length);
+		}
+		return true;
+	}
+
+	private boolean matchesNetwork(byte[] address) {
+		if (address.length == 4) {
+			int ip = toInt(address);
+			for (Map.Entry<Integer, Set<Integer>> entry : ipv4Networks.entrySet()) {
+				if (entry.getValue().contains(ip & mask(entry.getKey()))) {
+					return true;
+				}
+			}
+			return false;
+		}
+		for (int i = 0; i < ipv6Networks.size(); i++) {
+			if (matchesPrefix(ipv6Networks.get(i), address, ipv6PrefixLengths.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matchesPrefix(byte[] network, byte[] address, int prefixLength) {
+		if (network.length != address.length) {
+			return false;
+		}
+		int fullBytes = prefixLength / 8;
+		for (int i = 0; i < fullBytes; i++) {
+			if (network[i] != address[i]) {
+				return false;
+			}
+		}
+		int remainingBits = prefixLength % 8;
+		if (remainingBits == 0) {
+			return true;
+		}
+		int mask = (0xff << (8 - remainingBits)) & 0xff;
+		return (network[fullBytes] & mask) == (address[fullBytes] & mask);
+	}
+
+	private static int mask(int prefixLength) {
+		return prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+	}
+
+	private static int toInt(byte[] address) {
+		return ((address[0] & 0xff) << 24) | ((address[1] & 0xff) << 16) | ((address[2] & 0xff) << 8) | (address[3] & 0xff);
+	}
+
+	/**
+	 * 解析 IP 字面量，非 IP 格式返回 null，避免触发域名解析
+	 */
+	private static byte[] toAddress(String ip) {
+		if (ip.isEmpty()) {
+			return null;
+		}
+		for (int i = 0; i < ip.length(); i++) {
+			char c = ip.charAt(i);
+			if (Character.digit(c, 16) < 0 && c != '.' && c != ':') {
+				return null;
+			}
+		}
+		if (ip.indexOf(':') < 0 && !isIpv4(ip)) {
+			return null;
+		}
+		try {
+			return InetAddress.getByName(ip).getAddress();
+		} catch (UnknownHostException e) {
+			return null;
+		}
+	}
+
+	private static boolean isIpv4(String ip) {
+		String[] octets = StringUtils.delimitedListToStringArray(ip, ".");
+		if (octets.length != 4) {
+			return false;
+		}
+		for (String octet : octets) {
+			if (!isOctet(octet)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isOctet(String value) {
+		if (value.isEmpty() || value.length() > 3) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (!Character.isDigit(value.charAt(i))) {
+				return false;
+			}
+		}
+		return Integer.parseInt(value) <= 255;
+	}
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.tool.request;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * 预编译的 Ant 路径匹配
+ *
+ * <p>
+ * 无通配符的路径按精确匹配，/a/b/** 形式的路径按分段前缀树匹配，/**&#47;a/** 形式的路径按分段包含匹配，
+ * 其余规则交由 AntPathMatcher 匹配并缓存最近的匹配结果。
+ * </p>
+ *
+ * @author Chill
+ */
+final class PathPatternMatcher {
+
+	private static final String SEPARATOR = "/";
+	private static final String ANY_PATH = "**";
+	private static final int MEMO_SIZE = 1024;
+	private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+	/**
+	 * 精确路径
+	 */
+	private final Set<String> exactPaths = new HashSet<>();
+	/**
+	 * 前缀树
+	 */
+	private final Node prefixTree = new Node();
+	/**
+	 * 包含的路径分段
+	 */
+	private final Set<String> containedSegments = new HashSet<>();
+	/**
+	 * 其余规则
+	 */
+	private final List<String> patterns = new ArrayList<>();
+	/**
+	 * 其余规则的匹配结果缓存
+	 */
+	private final Cache<String, Boolean> memo;
+	private final boolean empty;
+
+	PathPatternMatcher(Collection<String> patterns) {
+		for (String pattern : patterns) {
+			if (StringUtils.hasText(pattern)) {
+				compile(pattern.trim());
+			}
+		}
+		this.empty = exactPaths.isEmpty() && prefixTree.children == null && !prefixTree.anyPath
+			&& containedSegments.isEmpty() && this.patterns.isEmpty();
+		this.memo = this.patterns.isEmpty() ? null : CacheBuilder.newBuilder().maximumSize(MEMO_SIZE).build();
+	}
+
+	/**
+	 * 是否匹配
+	 *
+	 * @param path 请求路径
+	 * @return boolean
+	 */
+	boolean matches(String path) {
+		if (empty || path == null) {
+			return false;
+		}
+		if (exactPaths.contains(path) || matchesSegments(path)) {
+			return true;
+		}
+		if (memo == null) {
+			return false;
+		}
+		Boolean matched = memo.getIfPresent(path);
+		if (matched == null) {
+			matched = patterns.stream().anyMatch(pattern -> ANT_PATH_MATCHER.match(pattern, path));
+			memo.put(path, matched);
+		}
+		return matched;
+	}
+
+	private void compile(String pattern) {
+		if (!pattern.startsWith(SEPARATOR) || !ANT_PATH_MATCHER.isPattern(pattern)) {
+			if (ANT_PATH_MATCHER.isPattern(pattern)) {
+				patterns.add(pattern);
+			} else {
+				exactPaths.add(pattern);
+			}
+			return;
+		}
+		String[] segments = StringUtils.tokenizeToStringArray(pattern, SEPARATOR);
+		int last = segments.length - 1;
+		// /a/b/**
+		if (last >= 0 && ANY_PATH.equals(segments[last]) && !pattern.endsWith(SEPARATOR) && isLiteral(segments, 0, last)) {
+			Node node = prefixTree;
+			for (int i = 0; i < last; i++) {
+				node = node.child(segments[i]);
+			}
+			node.anyPath = true;
+			return;
+		}
+		// /**/a/**
+		if (segments.length == 3 && ANY_PATH.equals(segments[0]) && ANY_PATH.equals(segments[2]) && isLiteral(segments, 1, 2)) {
+			containedSegments.add(segments[1]);
+			return;
+		}
+		patterns.add(pattern);
+	}
+
+	private boolean matchesSegments(String path) {
+		if (prefixTree.children == null && !prefixTree.anyPath && containedSegments.isEmpty()) {
+			return false;
+		}
+		if (!path.startsWith(SEPARATOR)) {
+			return false;
+		}
+		Node node = prefixTree;
+		int length = path.length();
+		int start = 0;
+		while (true) {
+			if (node != null && node.anyPath) {
+				return true;
+			}
+			// 跳过连续的分隔符
+			while (start < length && path.charAt(start) == '/') {
+				start++;
+			}
+			if (start >= length) {
+				return false;
+			}
+			int end = path.indexOf('/', start);
+			if (end < 0) {
+				end = length;
+			}
+			String segment = path.substring(start, end);
+			if (containedSegments.contains(segment)) {
+				return true;
+			}
+			node = node == null ? null : node.get(segment);
+			if (node == null && containedSegments.isEmpty()) {
+				return false;
+			}
+			start = end;
+		}
+	}
+
+	private static boolean isLiteral(String[] segments, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (ANT_PATH_MATCHER.isPattern(segments[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 前缀树节点
+	 */
+	private static final class Node {
+		private Map<String, Node> children;
+		/**
+		 * 节点后为 **
+		 */
+		private boolean anyPath;
+
+		Node child(String segment) {
+			if (children == null) {
+				children = new HashMap<>(8);
+			}
+			return children.computeIfAbsent(segment, key -> new Node());
+		}
+
+		Node get(String segment) {
+			return children == null ? null : children.get(segment);
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.tool.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springblade.core.tool.jackson.JsonUtil;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 请求报文 XSS 过滤
+ *
+ * <p>
+ * json 报文在一次流式解析中逐个过滤字符串（含字段名），不再对整个报文做正则处理；
+ * 不含 &lt;、&gt;、&amp; 的报文与字符串直接跳过。请求报文按需流式过滤见 {@link XssJsonBody}。
+ * </p>
+ *
+ * @author Chill
+ */
+public final class XssBodyFilter {
+
+	/**
+	 * html过滤，XssHtmlFilter 非线程安全，按线程复用
+	 */
+	private static final ThreadLocal<XssHtmlFilter> HTML_FILTER = ThreadLocal.withInitial(XssHtmlFilter::new);
+
+	private XssBodyFilter() {
+	}
+
+	/**
+	 * 过滤请求报文
+	 *
+	 * @param body        报文
+	 * @param contentType 报文类型
+	 * @return 过滤后的报文
+	 */
+	public static byte[] filter(byte[] body, @Nullable String contentType) {
+		if (!needsFilter(body)) {
+			return body;
+		}
+		if (isJson(contentType)) {
+			try {
+				return filterJson(body);
+			} catch (IOException e) {
+				// 非法 json 按文本过滤
+			}
+		}
+		return filterText(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 过滤文本
+	 *
+	 * @param input 文本
+	 * @return 过滤后的文本
+	 */
+	public static String filterText(@Nullable String input) {
+		if (input == null || !needsFilter(input)) {
+			return input;
+		}
+		return HTML_FILTER.get().filter(input);
+	}
+
+	/**
+	 * 是否 json 报文
+	 *
+	 * @param contentType 报文类型
+	 * @return boolean
+	 */
+	static boolean isJson(@Nullable String contentType) {
+		return contentType != null && contentType.toLowerCase().contains("json");
+	}
+
+	/**
+	 * 过滤并写出当前 json token，字符串（含字段名）按需过滤，其他 token 原样复制
+	 *
+	 * @param parser    json 解析
+	 * @param generator json 输出
+	 * @param token     当前 token
+	 * @throws IOException IOException
+	 */
+	static void copyToken(JsonParser parser, JsonGenerator generator, JsonToken token) throws IOException {
+		if (token == JsonToken.FIELD_NAME) {
+			generator.writeFieldName(filterText(parser.currentName()));
+		} else if (token == JsonToken.VALUE_STRING) {
+			char[] chars = parser.getTextCharacters();
+			int offset = parser.getTextOffset();
+			int length = parser.getTextLength();
+			if (needsFilter(chars, offset, length)) {
+				generator.writeString(HTML_FILTER.get().filter(new String(chars, offset, length)));
+			} else {
+				generator.writeString(chars, offset, length);
+			}
+		} else {
+			generator.copyCurrentEventExact(parser);
+		}
+	}
+
+	/**
+	 * 过滤 json 报文
+	 */
+	private static byte[] filterJson(byte[] body) throws IOException {
+		JsonFactory factory = JsonUtil.getInstance().getFactory();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 64);
+		try (JsonParser parser = factory.createParser(body);
+			 JsonGenerator generator = factory.createGenerator(out)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				copyToken(parser, generator, token);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static boolean needsFilter(byte[] body) {
+		for (byte b : body) {
+			if (b == '<' || b == '>' || b == '&') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean needsFilter(String input) {
+		return input.indexOf('<') >= 0 || input.indexOf('>') >= 0 || input.indexOf('&') >= 0;
+	}
+
+	private static boolean needsFilter(char[] chars, int offset, int length) {
+		for (int i = offset, end = offset + length; i < end; i++) {
+			char c = chars[i];
+			if (c == '<' || c == '>' || c == '&') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -16,16 +16,13 @@
 package org.springblade.core.tool.request;
 
 import org.springblade.core.tool.utils.StringUtil;
-import org.springblade.core.tool.utils.WebUtil;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
-import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.LinkedHashMap;
@@ -47,9 +44,9 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
 	 */
 	private byte[] body;
 	/**
-	 * html过滤
+	 * 流式过滤的 json 报文,支持多次读取流
 	 */
-	private final static XssHtmlFilter HTML_FILTER = new XssHtmlFilter();
+	private XssJsonBody jsonBody;
 
 	public XssHttpServletRequestWrapper(HttpServletRequest request) {
 		super(request);
@@ -71,33 +68,18 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
 			return super.getInputStream();
 		}
 
-		if (body == null) {
-			body = xssEncode(WebUtil.getRequestBody(super.getInputStream())).getBytes();
-		}
-
-		final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(body);
-
-		return new ServletInputStream() {
-
-			@Override
-			public int read() {
-				return byteArrayInputStream.read();
-			}
-
-			@Override
-			public boolean isFinished() {
-				return false;
+		if (XssBodyFilter.isJson(super.getHeader(HttpHeaders.CONTENT_TYPE))) {
+			if (jsonBody == null) {
+				jsonBody = new XssJsonBody(super.getInputStream());
 			}
+			return jsonBody.getInputStream();
+		}
 
-			@Override
-			public boolean isReady() {
-				return false;
-			}
+		if (body == null) {
+			body = XssBodyFilter.filter(super.getInputStream().readAllBytes(), super.getHeader(HttpHeaders.CONTENT_TYPE));
+		}
 
-			@Override
-			public void setReadListener(ReadListener readListener) {
-			}
-		};
+		return new CachedBodyServletInputStream(body);
 	}
 
 	@Override
@@ -146,7 +128,7 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
 	}
 
 	private String xssEncode(String input) {
-		return HTML_FILTER.filter(input);
+		return XssBodyFilter.filterText(input);
 	}
 
 	/**
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.tool.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.springblade.core.tool.jackson.JsonUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 流式 XSS 过滤的 json 请求报文
+ *
+ * <p>
+ * 读取时才从原始输入中解析对应的 token 并过滤，不预先读取整个报文；
+ * 已过滤的报文保留在内存中，支持多次获取输入流，后获取的输入流先读已过滤的部分，再继续解析剩余报文。
+ * </p>
+ *
+ * @author Chill
+ */
+class XssJsonBody {
+
+	/**
+	 * 每次解析的 token 数
+	 */
+	private static final int TOKENS_PER_FILL = 64;
+
+	private final JsonParser parser;
+	private final JsonGenerator generator;
+	private final Buffer buffer = new Buffer();
+	private boolean finished;
+	private IOException failure;
+
+	XssJsonBody(InputStream input) throws IOException {
+		JsonFactory factory = JsonUtil.getInstance().getFactory();
+		this.parser = factory.createParser(input);
+		this.generator = factory.createGenerator(buffer);
+	}
+
+	/**
+	 * 获取过滤后报文的输入流
+	 *
+	 * @return ServletInputStream
+	 */
+	ServletInputStream getInputStream() {
+		return new BodyInputStream();
+	}
+
+	/**
+	 * 从指定位置读取过滤后的报文，已过滤的部分不足时继续解析
+	 */
+	private synchronized int read(int position, byte[] b, int off, int len) throws IOException {
+		while (buffer.size() <= position && !finished) {
+			fill();
+		}
+		if (failure != null && buffer.size() <= position) {
+			throw failure;
+		}
+		int remaining = buffer.size() - position;
+		if (remaining <= 0) {
+			return -1;
+		}
+		int n = Math.min(len, remaining);
+		System.arraycopy(buffer.array(), position, b, off, n);
+		return n;
+	}
+
+	private synchronized int available(int position) {
+		return Math.max(0, buffer.size() - position);
+	}
+
+	private synchronized boolean isFinished(int position) {
+		return finished && buffer.size() <= position;
+	}
+
+	/**
+	 * 解析并过滤一批 token
+	 */
+	private void fill() {
+		try {
+			for (int i = 0; i < TOKENS_PER_FILL; i++) {
+				JsonToken token = parser.nextToken();
+				if (token == null) {
+					finished = true;
+					generator.close();
+					parser.close();
+					return;
+				}
+				XssBodyFilter.copyToken(parser, generator, token);
+			}
+			generator.flush();
+		} catch (IOException e) {
+			// 输入已被消费，非法 json 无法回退为文本过滤，已过滤的部分读完后抛出异常
+			failure = e;
+			finished = true;
+			closeQuietly();
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			generator.flush();
+			parser.close();
+		} catch (IOException ignored) {
+			// ignore
+		}
+	}
+
+	/**
+	 * 可直接读取内部数组的输出缓冲
+	 */
+	private static class Buffer extends ByteArrayOutputStream {
+
+		Buffer() {
+			super(1024);
+		}
+
+		byte[] array() {
+			return buf;
+		}
+	}
+
+	/**
+	 * 各自记录读取位置的输入流
+	 */
+	private class BodyInputStream extends ServletInputStream {
+
+		private final byte[] single = new byte[1];
+		private int pos;
+
+		@Override
+		public int read() throws IOException {
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int n = XssJsonBody.this.read(pos, b, off, len);
+			if (n > 0) {
+				pos += n;
+			}
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return XssJsonBody.this.available(pos);
+		}
+
+		@Override
+		public boolean isFinished() {
+			return XssJsonBody.this.isFinished(pos);
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+		}
+	}
+
+}
@@ -35,7 +35,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
-import java.util.Enumeration;
+import java.util.Map;
+import java.util.function.Supplier;
 
 
 /**
@@ -50,6 +51,11 @@ public class WebUtil extends org.springframework.web.util.WebUtils {
 
 	public static final String UN_KNOWN = "unknown";
 
+	/**
+	 * 获取ip时依次读取的请求头
+	 */
+	private static final String[] IP_HEADERS = {"X-Requested-For", "X-Forwarded-For", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"};
+
 	/**
 	 * 判断是否ajax请求
 	 * spring ajax 返回含有 ResponseBody 或者 RestController注解
@@ -182,21 +188,12 @@ public class WebUtil extends org.springframework.web.util.WebUtils {
 	@Nullable
 	public static String getIP(HttpServletRequest request) {
 		Assert.notNull(request, "HttpServletRequest is null");
-		String ip = request.getHeader("X-Requested-For");
-		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
-			ip = request.getHeader("X-Forwarded-For");
-		}
-		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
-			ip = request.getHeader("Proxy-Client-IP");
-		}
-		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
-			ip = request.getHeader("WL-Proxy-Client-IP");
-		}
-		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
-			ip = request.getHeader("HTTP_CLIENT_IP");
-		}
-		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
-			ip = request.getHeader("HTTP_X_FORWARDED_FOR");
+		String ip = null;
+		for (String header : IP_HEADERS) {
+			ip = request.getHeader(header);
+			if (StringUtil.isNotBlank(ip) && !UN_KNOWN.equalsIgnoreCase(ip)) {
+				break;
+			}
 		}
 		if (StringUtil.isBlank(ip) || UN_KNOWN.equalsIgnoreCase(ip)) {
 			ip = request.getRemoteAddr();
@@ -229,11 +226,21 @@ public class WebUtil extends org.springframework.web.util.WebUtils {
 	public static String getRequestStr(HttpServletRequest request) throws IOException {
 		String queryString = request.getQueryString();
 		if (StringUtil.isNotBlank(queryString)) {
-			return new String(queryString.getBytes(Charsets.ISO_8859_1), Charsets.UTF_8).replaceAll("&amp;", "&").replaceAll("%22", "\"");
+			return getQueryParamString(queryString);
 		}
 		return getRequestStr(request, getRequestBytes(request));
 	}
 
+	/**
+	 * 格式化 request 的 queryString
+	 *
+	 * @param queryString queryString
+	 * @return String
+	 */
+	public static String getQueryParamString(String queryString) {
+		return new String(queryString.getBytes(Charsets.ISO_8859_1), Charsets.UTF_8).replaceAll("&amp;", "&").replaceAll("%22", "\"");
+	}
+
 	/**
 	 * 获取 request 请求的 byte[] 数组
 	 *
@@ -267,19 +274,26 @@ public class WebUtil extends org.springframework.web.util.WebUtils {
 	 * @throws IOException IOException
 	 */
 	public static String getRequestStr(HttpServletRequest request, byte[] buffer) throws IOException {
-		String charEncoding = request.getCharacterEncoding();
+		return getRequestStr(buffer, request.getCharacterEncoding(), request::getParameterMap);
+	}
+
+	/**
+	 * 获取 request 请求内容，请求体为空时使用表单参数
+	 *
+	 * @param buffer       请求体
+	 * @param charEncoding 请求编码，为空时使用 UTF-8
+	 * @param parameters   表单参数，仅在请求体为空时获取
+	 * @return String
+	 * @throws IOException IOException
+	 */
+	public static String getRequestStr(byte[] buffer, @Nullable String charEncoding, Supplier<Map<String, String[]>> parameters) throws IOException {
 		if (charEncoding == null) {
 			charEncoding = StringPool.UTF_8;
 		}
 		String str = new String(buffer, charEncoding).trim();
 		if (StringUtil.isBlank(str)) {
 			StringBuilder sb = new StringBuilder();
-			Enumeration<String> parameterNames = request.getParameterNames();
-			while (parameterNames.hasMoreElements()) {
-				String key = parameterNames.nextElement();
-				String value = request.getParameter(key);
-				StringUtil.appendBuilder(sb, key, "=", value, "&");
-			}
+			parameters.get().forEach((key, values) -> StringUtil.appendBuilder(sb, key, "=", values.length == 0 ? null : values[0], "&"));
 			str = StringUtil.removeSuffix(sb.toString(), "&");
 		}
 		return str.replaceAll("&amp;", "&");
@@ -331,25 +345,9 @@ public class WebUtil extends org.springframework.web.util.WebUtils {
 		try {
 			String queryString = request.getQueryString();
 			if (StringUtil.isNotBlank(queryString)) {
-				return new String(queryString.getBytes(Charsets.ISO_8859_1), Charsets.UTF_8).replaceAll("&amp;", "&").replaceAll("%22", "\"");
-			}
-			String charEncoding = request.getCharacterEncoding();
-			if (charEncoding == null) {
-				charEncoding = StringPool.UTF_8;
-			}
-			byte[] buffer = getRequestBody(request.getInputStream()).getBytes();
-			String str = new String(buffer, charEncoding).trim();
-			if (StringUtil.isBlank(str)) {
-				StringBuilder sb = new StringBuilder();
-				Enumeration<String> parameterNames = request.getParameterNames();
-				while (parameterNames.hasMoreElements()) {
-					String key = parameterNames.nextElement();
-					String value = request.getParameter(key);
-					StringUtil.appendBuilder(sb, key, "=", value, "&");
-				}
-				str = StringUtil.removeSuffix(sb.toString(), "&");
+				return getQueryParamString(queryString);
 			}
-			return str.replaceAll("&amp;", "&");
+			return getRequestStr(request, getRequestBody(request.getInputStream()).getBytes());
 		} catch (Exception ex) {
 			ex.printStackTrace();
 			return StringPool.EMPTY;
@@ -15,19 +15,28 @@
  */
 package org.springblade.core.cache.utils;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springblade.core.tool.utils.Func;
 import org.springblade.core.tool.utils.SpringUtil;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.lang.Nullable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 缓存工具类
  *
  * @author Chill
  */
+@Slf4j
 public class CacheUtil {
 
 	public static final String SYS_CACHE = "blade:sys";
@@ -110,6 +119,64 @@ public class CacheUtil {
 		return getCache(cacheName).get(cacheKey, valueLoader);
 	}
 
+	/**
+	 * 批量获取缓存
+	 *
+	 * <p>
+	 * 缓存支持异步读取时（如基于 lettuce 的 RedisCache）所有读取一次性发出，由连接层合并为一轮往返；
+	 * 否则逐个读取。返回结果只包含命中的键，单个键读取失败时按未命中处理。
+	 * </p>
+	 *
+	 * @param cacheName 缓存名
+	 * @param keyPrefix 缓存键前缀
+	 * @param keys      缓存键值集合
+	 * @param <K>       键类型
+	 * @param <T>       类型
+	 * @return 命中的键与缓存值
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, T> Map<K, T> getAll(String cacheName, String keyPrefix, Collection<K> keys) {
+		Map<K, T> result = new HashMap<>(keys.size());
+		if (Func.hasEmpty(cacheName, keyPrefix) || keys.isEmpty()) {
+			return result;
+		}
+		Cache cache = getCache(cacheName);
+		Map<K, CompletableFuture<?>> futures = new LinkedHashMap<>(keys.size());
+		try {
+			for (K key : keys) {
+				CompletableFuture<?> future = cache.retrieve(keyPrefix.concat(String.valueOf(key)));
+				if (future != null) {
+					futures.put(key, future);
+				}
+			}
+		} catch (UnsupportedOperationException | IllegalStateException e) {
+			// 缓存不支持异步读取，逐个读取
+			for (K key : keys) {
+				Cache.ValueWrapper wrapper = cache.get(keyPrefix.concat(String.valueOf(key)));
+				if (wrapper != null && wrapper.get() != null) {
+					result.put(key, (T) wrapper.get());
+				}
+			}
+			return result;
+		}
+		futures.forEach((key, future) -> {
+			Object value;
+			try {
+				value = future.join();
+			} catch (CompletionException | CancellationException e) {
+				log.warn("Cache retrieve failed, cache:{} key:{}", cacheName, keyPrefix.concat(String.valueOf(key)), e);
+				return;
+			}
+			if (value instanceof Cache.ValueWrapper wrapper) {
+				value = wrapper.get();
+			}
+			if (value != null) {
+				result.put(key, (T) value);
+			}
+		});
+		return result;
+	}
+
 	/**
 	 * 设置缓存
 	 *
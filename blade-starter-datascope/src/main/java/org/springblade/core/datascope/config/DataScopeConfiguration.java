@@ -29,6 +29,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.Duration;
+
 /**
  * 数据权限配置类
  *
@@ -43,15 +45,16 @@ public class DataScopeConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean(ScopeModelHandler.class)
-	public ScopeModelHandler scopeModelHandler() {
-		return new BladeScopeModelHandler(jdbcTemplate);
+	public ScopeModelHandler scopeModelHandler(DataScopeProperties dataScopeProperties) {
+		Duration deptIndexRefresh = dataScopeProperties.getDeptIndex() ? dataScopeProperties.getDeptIndexRefresh() : null;
+		return new BladeScopeModelHandler(jdbcTemplate, deptIndexRefresh);
 	}
 
 	@Bean
 	@ConditionalOnBean(ScopeModelHandler.class)
 	@ConditionalOnMissingBean(DataScopeHandler.class)
-	public DataScopeHandler dataScopeHandler(ScopeModelHandler scopeModelHandler) {
-		return new BladeDataScopeHandler(scopeModelHandler);
+	public DataScopeHandler dataScopeHandler(ScopeModelHandler scopeModelHandler, DataScopeProperties dataScopeProperties) {
+		return new BladeDataScopeHandler(scopeModelHandler, dataScopeProperties);
 	}
 
 	@Bean
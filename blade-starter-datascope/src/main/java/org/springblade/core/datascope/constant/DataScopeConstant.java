@@ -26,10 +26,20 @@ public interface DataScopeConstant {
 
 	String DEFAULT_COLUMN = "create_dept";
 
+	/**
+	 * 祖级中包含指定部门id的条件，首尾补逗号后按完整的id匹配，避免 12 匹配到 112、123 等部门
+	 */
+	String ANCESTORS_CONTAINS = "concat(concat(',', ancestors), ',') like concat(concat('%,', ?), ',%')";
+
 	/**
 	 * 获取部门数据
 	 */
-	String DATA_BY_DEPT = "select id from blade_dept where ancestors like concat(concat('%', ?),'%') and is_deleted = 0";
+	String DATA_BY_DEPT = "select id from blade_dept where " + ANCESTORS_CONTAINS + " and is_deleted = 0";
+
+	/**
+	 * 获取全部部门及其祖级，用于构建部门树索引
+	 */
+	String DEPT_ANCESTORS_ALL = "select id, ancestors from blade_dept where is_deleted = 0";
 
 	/**
 	 * 根据resourceCode获取数据权限配置
@@ -46,6 +56,20 @@ public interface DataScopeConstant {
 		return "select resource_code, scope_column, scope_field, scope_type, scope_value from blade_scope_data where scope_class = ? and id in (select scope_id from blade_role_scope where role_id in (" + buildHolder(size) + "))";
 	}
 
+	/**
+	 * 批量获取部门数据
+	 *
+	 * @param size 数量
+	 * @return String
+	 */
+	static String dataByDepts(int size) {
+		StringJoiner joiner = new StringJoiner(" or ", "select id, ancestors from blade_dept where is_deleted = 0 and (", ")");
+		for (int i = 0; i < size; i++) {
+			joiner.add(ANCESTORS_CONTAINS);
+		}
+		return joiner.toString();
+	}
+
 	/**
 	 * 获取Sql占位符
 	 *
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.datascope.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 数据权限sql改写方式
+ *
+ * @author Chill
+ */
+@Getter
+@AllArgsConstructor
+public enum DataScopeModeEnum {
+	/**
+	 * 子查询包装：select * from (原始sql) scope where scope.column in (...)
+	 */
+	WRAP("子查询包装"),
+
+	/**
+	 * 条件下推：将数据权限条件直接追加到原始sql主表的 where 中，无法下推时回退为子查询包装
+	 */
+	PUSHDOWN("条件下推");
+
+	/**
+	 * 描述
+	 */
+	private final String description;
+}
@@ -15,14 +15,15 @@
  */
 package org.springblade.core.datascope.handler;
 
-import lombok.RequiredArgsConstructor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springblade.core.datascope.enums.DataScopeEnum;
+import org.springblade.core.datascope.enums.DataScopeModeEnum;
 import org.springblade.core.datascope.model.DataScopeModel;
+import org.springblade.core.datascope.props.DataScopeProperties;
 import org.springblade.core.secure.BladeUser;
 import org.springblade.core.tool.constant.RoleConstant;
-import org.springblade.core.tool.utils.BeanUtil;
 import org.springblade.core.tool.utils.Func;
-import org.springblade.core.tool.utils.PlaceholderUtil;
 import org.springblade.core.tool.utils.StringUtil;
 
 import java.util.ArrayList;
@@ -34,50 +35,115 @@ import java.util.Objects;
  *
  * @author Chill
  */
-@RequiredArgsConstructor
 public class BladeDataScopeHandler implements DataScopeHandler {
 
 	private final ScopeModelHandler scopeModelHandler;
 
+	/**
+	 * 数据权限执行计划缓存，key 为数据权限模型中参与编译的字段，模型本身每次仍从 ScopeModelHandler 获取
+	 */
+	private final Cache<PlanKey, DataScopePlan> planCache;
+
+	/**
+	 * 数据权限sql改写方式
+	 */
+	private final DataScopeModeEnum mode;
+
+	/**
+	 * 条件下推时单个 in 列表的最大长度
+	 */
+	private final int maxInSize;
+
+	public BladeDataScopeHandler(ScopeModelHandler scopeModelHandler) {
+		this(scopeModelHandler, DataScopeModeEnum.WRAP, 1000);
+	}
+
+	public BladeDataScopeHandler(ScopeModelHandler scopeModelHandler, DataScopeProperties dataScopeProperties) {
+		this(scopeModelHandler, dataScopeProperties.getMode(), dataScopeProperties.getMaxInSize());
+	}
+
+	public BladeDataScopeHandler(ScopeModelHandler scopeModelHandler, DataScopeModeEnum mode, int maxInSize) {
+		this.scopeModelHandler = scopeModelHandler;
+		this.mode = mode;
+		this.maxInSize = maxInSize;
+		this.planCache = CacheBuilder.newBuilder()
+			.maximumSize(10000)
+			.build();
+	}
+
 	@Override
 	public String sqlCondition(String mapperId, DataScopeModel dataScope, BladeUser bladeUser, String originalSql) {
 
-		//数据权限资源编号
-		String code = dataScope.getResourceCode();
+		//管理员不做过滤
+		if (StringUtil.containsAny(bladeUser.getRoleName(), RoleConstant.ADMIN)) {
+			return null;
+		}
 
-		//根据mapperId从数据库中获取对应模型
-		DataScopeModel dataScopeDb = scopeModelHandler.getDataScopeByMapper(mapperId, bladeUser.getRoleId());
+		//获取数据权限模型, 由 ScopeModelHandler 负责缓存及失效
+		DataScopeModel scopeModel = resolveDataScope(mapperId, dataScope, bladeUser.getRoleId());
 
-		//mapperId配置未取到则从数据库中根据资源编号获取
-		if (dataScopeDb == null && StringUtil.isNotBlank(code)) {
-			dataScopeDb = scopeModelHandler.getDataScopeByCode(code);
+		//获取预编译的执行计划, 模型变更后 key 随之变化, 无需单独失效
+		PlanKey planKey = new PlanKey(scopeModel.getScopeType(), scopeModel.getScopeColumn(), scopeModel.getScopeField(), scopeModel.getScopeValue());
+		DataScopePlan plan = planCache.getIfPresent(planKey);
+		if (plan == null) {
+			plan = DataScopePlan.compile(scopeModel);
+			planCache.put(planKey, plan);
 		}
 
-		//未从数据库找到对应配置则采用默认
-		dataScope = (dataScopeDb != null) ? dataScopeDb : dataScope;
-
 		//判断数据权限类型并组装对应Sql
-		Integer scopeRule = Objects.requireNonNull(dataScope).getScopeType();
-		DataScopeEnum scopeTypeEnum = DataScopeEnum.of(scopeRule);
-		List<Long> ids = new ArrayList<>();
-		String whereSql = "where scope.{} in ({})";
-		if (DataScopeEnum.ALL == scopeTypeEnum || StringUtil.containsAny(bladeUser.getRoleName(), RoleConstant.ADMIN)) {
+		DataScopeEnum scopeTypeEnum = plan.getScopeType();
+		if (DataScopeEnum.ALL == scopeTypeEnum) {
 			return null;
 		} else if (DataScopeEnum.CUSTOM == scopeTypeEnum) {
-			whereSql = PlaceholderUtil.getDefaultResolver().resolveByMap(dataScope.getScopeValue(), BeanUtil.toMap(bladeUser));
-		} else if (DataScopeEnum.OWN == scopeTypeEnum) {
+			return plan.bindCustom(originalSql, bladeUser);
+		}
+		List<Long> ids = new ArrayList<>();
+		if (DataScopeEnum.OWN == scopeTypeEnum) {
 			ids.add(bladeUser.getUserId());
 		} else if (DataScopeEnum.OWN_DEPT == scopeTypeEnum) {
 			ids.addAll(Func.toLongList(bladeUser.getDeptId()));
 		} else if (DataScopeEnum.OWN_DEPT_CHILD == scopeTypeEnum) {
 			List<Long> deptIds = Func.toLongList(bladeUser.getDeptId());
 			ids.addAll(deptIds);
-			deptIds.forEach(deptId -> {
-				List<Long> deptIdList = scopeModelHandler.getDeptAncestors(deptId);
-				ids.addAll(deptIdList);
-			});
+			ids.addAll(scopeModelHandler.getDeptAncestors(deptIds));
 		}
-		return StringUtil.format("select {} from ({}) scope " + whereSql, Func.toStr(dataScope.getScopeField(), "*"), originalSql, dataScope.getScopeColumn(), StringUtil.join(ids));
+		if (DataScopeModeEnum.PUSHDOWN == mode) {
+			String sql = plan.pushdown(originalSql, ids, maxInSize);
+			if (sql != null) {
+				return sql;
+			}
+		}
+		return plan.bind(originalSql, ids);
+	}
+
+	/**
+	 * 获取最终生效的数据权限模型
+	 *
+	 * @param mapperId  数据查询类
+	 * @param dataScope 注解中的数据权限
+	 * @param roleId    角色id
+	 * @return DataScopeModel
+	 */
+	private DataScopeModel resolveDataScope(String mapperId, DataScopeModel dataScope, String roleId) {
+		//数据权限资源编号
+		String code = dataScope.getResourceCode();
+
+		//根据mapperId从数据库中获取对应模型
+		DataScopeModel dataScopeDb = scopeModelHandler.getDataScopeByMapper(mapperId, roleId);
+
+		//mapperId配置未取到则从数据库中根据资源编号获取
+		if (dataScopeDb == null && StringUtil.isNotBlank(code)) {
+			dataScopeDb = scopeModelHandler.getDataScopeByCode(code);
+		}
+
+		//未从数据库找到对应配置则采用默认
+		return Objects.requireNonNull((dataScopeDb != null) ? dataScopeDb : dataScope);
+	}
+
+	/**
+	 * 执行计划缓存 key
+	 */
+	private record PlanKey(Integer scopeType, String scopeColumn, String scopeField, String scopeValue) {
 	}
 
 }
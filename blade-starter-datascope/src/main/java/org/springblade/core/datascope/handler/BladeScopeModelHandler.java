@@ -15,7 +15,6 @@
  */
 package org.springblade.core.datascope.handler;
 
-import lombok.RequiredArgsConstructor;
 import org.springblade.core.cache.utils.CacheUtil;
 import org.springblade.core.datascope.constant.DataScopeConstant;
 import org.springblade.core.datascope.model.DataScopeModel;
@@ -25,10 +24,17 @@ import org.springblade.core.tool.utils.StringPool;
 import org.springblade.core.tool.utils.StringUtil;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.springblade.core.cache.utils.CacheUtil.SYS_CACHE;
 
@@ -38,7 +44,6 @@ import static org.springblade.core.cache.utils.CacheUtil.SYS_CACHE;
  *
  * @author Chill
  */
-@RequiredArgsConstructor
 public class BladeScopeModelHandler implements ScopeModelHandler {
 
 	private static final String SCOPE_CACHE_CODE = "dataScope:code:";
@@ -48,6 +53,25 @@ public class BladeScopeModelHandler implements ScopeModelHandler {
 
 	private final JdbcTemplate jdbcTemplate;
 
+	/**
+	 * 内存部门树索引，为空时通过缓存及数据库获取部门子级
+	 */
+	@Nullable
+	private final DeptTreeIndex deptTreeIndex;
+
+	public BladeScopeModelHandler(JdbcTemplate jdbcTemplate) {
+		this(jdbcTemplate, null);
+	}
+
+	/**
+	 * @param jdbcTemplate     JdbcTemplate
+	 * @param deptIndexRefresh 部门树索引刷新间隔，为空则不启用部门树索引
+	 */
+	public BladeScopeModelHandler(JdbcTemplate jdbcTemplate, @Nullable Duration deptIndexRefresh) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.deptTreeIndex = deptIndexRefresh == null ? null : new DeptTreeIndex(jdbcTemplate, deptIndexRefresh);
+	}
+
 	/**
 	 * 获取数据权限
 	 *
@@ -108,8 +132,65 @@ public class BladeScopeModelHandler implements ScopeModelHandler {
 	 */
 	@Override
 	public List<Long> getDeptAncestors(Long deptId) {
+		if (deptTreeIndex != null) {
+			return deptTreeIndex.getDescendants(deptId);
+		}
 		return CacheUtil.get(SYS_CACHE, DEPT_CACHE_ANCESTORS, deptId, () ->
 			jdbcTemplate.queryForList(DataScopeConstant.DATA_BY_DEPT, Long.class, deptId)
 		);
 	}
+
+	/**
+	 * 批量获取部门子级，缓存批量读取，未命中的部门合并为一次查询
+	 *
+	 * @param deptIds 部门id集合
+	 * @return 去重后的全部子级deptIds
+	 */
+	@Override
+	public List<Long> getDeptAncestors(Collection<Long> deptIds) {
+		Set<Long> result = new LinkedHashSet<>();
+		if (deptTreeIndex != null) {
+			deptIds.forEach(deptId -> result.addAll(deptTreeIndex.getDescendants(deptId)));
+			return new ArrayList<>(result);
+		}
+		Set<Long> keys = new LinkedHashSet<>(deptIds);
+		keys.remove(null);
+		Map<Long, List<Long>> cached = CacheUtil.getAll(SYS_CACHE, DEPT_CACHE_ANCESTORS, keys);
+		List<Long> misses = new ArrayList<>();
+		for (Long deptId : keys) {
+			List<Long> ancestors = cached.get(deptId);
+			if (ancestors == null) {
+				misses.add(deptId);
+			} else {
+				result.addAll(ancestors);
+			}
+		}
+		if (misses.isEmpty()) {
+			return new ArrayList<>(result);
+		}
+		// 与单个查询及部门树索引的匹配规则保持一致，按祖级中完整的部门id归属到各部门
+		Map<Long, List<Long>> loaded = new HashMap<>(misses.size());
+		misses.forEach(deptId -> loaded.put(deptId, new ArrayList<>()));
+		jdbcTemplate.query(DataScopeConstant.dataByDepts(misses.size()), rs -> {
+			long id = rs.getLong(1);
+			for (Long ancestor : Func.toLongList(rs.getString(2))) {
+				List<Long> descendants = loaded.get(ancestor);
+				if (descendants != null) {
+					descendants.add(id);
+				}
+			}
+		}, misses.toArray());
+		loaded.forEach((deptId, ancestors) -> {
+			CacheUtil.put(SYS_CACHE, DEPT_CACHE_ANCESTORS, deptId, ancestors);
+			result.addAll(ancestors);
+		});
+		return new ArrayList<>(result);
+	}
+
+	@Override
+	public void clearCache() {
+		if (deptTreeIndex != null) {
+			deptTreeIndex.invalidate();
+		}
+	}
 }
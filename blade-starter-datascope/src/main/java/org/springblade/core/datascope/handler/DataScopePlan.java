@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.datascope.handler;
+
+import org.springblade.core.datascope.enums.DataScopeEnum;
+import org.springblade.core.datascope.model.DataScopeModel;
+import org.springblade.core.secure.BladeUser;
+import org.springblade.core.tool.utils.Func;
+import org.springblade.core.tool.utils.PlaceholderUtil;
+import org.springblade.core.tool.utils.ReflectUtil;
+import org.springblade.core.tool.utils.StringPool;
+import org.springblade.core.tool.utils.StringUtil;
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 预编译的数据权限执行计划
+ *
+ * <p>
+ * 由数据权限模型的内容编译出的 sql 模板，不持有模型本身，执行时只需绑定用户相关的值。
+ * </p>
+ *
+ * @author Chill
+ */
+final class DataScopePlan {
+
+	/**
+	 * 全部数据，不做过滤
+	 */
+	static final DataScopePlan ALL = new DataScopePlan(DataScopeEnum.ALL, StringPool.EMPTY, StringPool.EMPTY, StringPool.EMPTY, false, Collections.emptyList());
+
+	private final DataScopeEnum scopeType;
+	/**
+	 * select {field} from (
+	 */
+	private final String selectPrefix;
+	/**
+	 * ) scope where scope.{column} in (
+	 */
+	private final String wherePrefix;
+	/**
+	 * 数据权限字段
+	 */
+	private final String scopeColumn;
+	/**
+	 * 是否可下推，仅在可见字段为全部时下推，否则需子查询包装来裁剪字段
+	 */
+	private final boolean pushdownable;
+	/**
+	 * 自定义规则的片段，String 为原样输出，Method 为 BladeUser 的属性读取方法
+	 */
+	private final List<Object> customSegments;
+
+	private DataScopePlan(DataScopeEnum scopeType, String selectPrefix, String wherePrefix, String scopeColumn,
+						  boolean pushdownable, List<Object> customSegments) {
+		this.scopeType = scopeType;
+		this.selectPrefix = selectPrefix;
+		this.wherePrefix = wherePrefix;
+		this.scopeColumn = scopeColumn;
+		this.pushdownable = pushdownable;
+		this.customSegments = customSegments;
+	}
+
+	/**
+	 * 编译数据权限模型
+	 *
+	 * @param dataScope 数据权限模型
+	 * @return DataScopePlan
+	 */
+	static DataScopePlan compile(DataScopeModel dataScope) {
+		DataScopeEnum scopeType = DataScopeEnum.of(dataScope.getScopeType());
+		if (DataScopeEnum.ALL == scopeType) {
+			return ALL;
+		}
+		String scopeField = Func.toStr(dataScope.getScopeField(), "*");
+		String selectPrefix = "select " + scopeField + " from (";
+		String wherePrefix = ") scope where scope." + dataScope.getScopeColumn() + " in (";
+		List<Object> customSegments = Collections.emptyList();
+		if (DataScopeEnum.CUSTOM == scopeType) {
+			customSegments = parseCustom(Func.toStr(dataScope.getScopeValue()));
+		}
+		boolean pushdownable = DataScopeEnum.CUSTOM != scopeType && "*".equals(scopeField.trim());
+		return new DataScopePlan(scopeType, selectPrefix, wherePrefix, dataScope.getScopeColumn(), pushdownable, customSegments);
+	}
+
+	/**
+	 * 将自定义规则中的 ${属性} 预解析为 BladeUser 属性读取方法
+	 */
+	private static List<Object> parseCustom(String scopeValue) {
+		List<Object> segments = new ArrayList<>();
+		String prefix = PlaceholderUtil.DEFAULT_PLACEHOLDER_PREFIX;
+		String suffix = PlaceholderUtil.DEFAULT_PLACEHOLDER_SUFFIX;
+		int cursor = 0;
+		int start;
+		while ((start = scopeValue.indexOf(prefix, cursor)) != -1) {
+			int end = scopeValue.indexOf(suffix, start + 1);
+			if (end == -1) {
+				break;
+			}
+			segments.add(scopeValue.substring(cursor, start));
+			String property = scopeValue.substring(start + prefix.length(), end);
+			if (!property.trim().isEmpty()) {
+				PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(BladeUser.class, property);
+				Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+				// 与原有按 map 取值的行为保持一致，未知属性输出 null
+				segments.add(readMethod == null ? String.valueOf((Object) null) : readMethod);
+			}
+			cursor = end + suffix.length();
+		}
+		segments.add(scopeValue.substring(cursor));
+		return segments;
+	}
+
+	DataScopeEnum getScopeType() {
+		return scopeType;
+	}
+
+	/**
+	 * 绑定 in 条件的值
+	 *
+	 * @param originalSql 原始sql
+	 * @param ids         in 条件的值
+	 * @return sql
+	 */
+	String bind(String originalSql, List<Long> ids) {
+		StringBuilder sql = new StringBuilder(selectPrefix.length() + originalSql.length() + wherePrefix.length() + ids.size() * 20)
+			.append(selectPrefix).append(originalSql).append(wherePrefix);
+		for (int i = 0; i < ids.size(); i++) {
+			if (i > 0) {
+				sql.append(StringPool.COMMA);
+			}
+			sql.append(ids.get(i));
+		}
+		return sql.append(StringPool.RIGHT_BRACKET).toString();
+	}
+
+	/**
+	 * 以条件下推的方式绑定 in 条件的值
+	 *
+	 * @param originalSql 原始sql
+	 * @param ids         in 条件的值
+	 * @param maxInSize   单个 in 列表的最大长度
+	 * @return sql，无法下推时返回 null
+	 */
+	@Nullable
+	String pushdown(String originalSql, List<Long> ids, int maxInSize) {
+		if (!pushdownable) {
+			return null;
+		}
+		return DataScopePushdown.inject(originalSql, scopeColumn, ids, maxInSize);
+	}
+
+	/**
+	 * 绑定自定义规则
+	 *
+	 * @param originalSql 原始sql
+	 * @param bladeUser   当前用户
+	 * @return sql
+	 */
+	String bindCustom(String originalSql, BladeUser bladeUser) {
+		StringBuilder whereSql = new StringBuilder(64);
+		for (Object segment : customSegments) {
+			if (segment instanceof Method method) {
+				whereSql.append(ReflectUtil.invokeMethod(method, bladeUser));
+			} else {
+				whereSql.append(segment);
+			}
+		}
+		// 与原有规则保持一致，先解析 ${} 再格式化 {}
+		return selectPrefix + originalSql + ") scope " + StringUtil.format(whereSql.toString(), scopeColumn, StringPool.EMPTY);
+	}
+
+}
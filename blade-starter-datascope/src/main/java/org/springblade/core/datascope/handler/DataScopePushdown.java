@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.datascope.handler;
+
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import org.springblade.core.tool.utils.StringPool;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据权限条件下推
+ *
+ * <p>
+ * 将 column in (...) 直接追加到原始sql主表的 where 中，避免子查询包装导致索引失效及分页 count 物化整个派生表。
+ * 仅处理主表为普通表的单个 select，其余情况返回 null 由调用方回退为子查询包装。
+ * 注意：数据权限字段需为主表中的真实字段，而非查询结果中的别名。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+final class DataScopePushdown {
+
+	private DataScopePushdown() {
+	}
+
+	/**
+	 * 注入数据权限条件
+	 *
+	 * @param originalSql 原始sql
+	 * @param scopeColumn 数据权限字段
+	 * @param ids         in 条件的值
+	 * @param maxInSize   单个 in 列表的最大长度
+	 * @return 注入后的sql，无法下推时返回 null
+	 */
+	@Nullable
+	static String inject(String originalSql, String scopeColumn, List<Long> ids, int maxInSize) {
+		if (ids.isEmpty()) {
+			return null;
+		}
+		Statement statement;
+		try {
+			statement = JsqlParserGlobal.parse(originalSql);
+		} catch (JSQLParserException e) {
+			log.debug("data scope pushdown skipped, sql parse failed: {}", e.getMessage());
+			return null;
+		}
+		if (!(statement instanceof PlainSelect plainSelect) || !(plainSelect.getFromItem() instanceof Table table)) {
+			return null;
+		}
+		Column column = new Column(qualify(table, scopeColumn));
+		Expression scope = null;
+		int chunkSize = Math.max(maxInSize, 1);
+		for (int from = 0; from < ids.size(); from += chunkSize) {
+			List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+			List<Expression> values = new ArrayList<>(chunk.size());
+			chunk.forEach(id -> values.add(new LongValue(id)));
+			InExpression in = new InExpression(column, new ParenthesedExpressionList<>(values));
+			scope = scope == null ? in : new OrExpression(scope, in);
+		}
+		if (ids.size() > chunkSize) {
+			scope = new ParenthesedExpressionList<>(scope);
+		}
+		Expression where = plainSelect.getWhere();
+		plainSelect.setWhere(where == null ? scope : new AndExpression(new ParenthesedExpressionList<>(where), scope));
+		return plainSelect.toString();
+	}
+
+	/**
+	 * 以主表别名或表名限定字段，避免多表关联时字段歧义
+	 */
+	private static String qualify(Table table, String scopeColumn) {
+		if (scopeColumn.contains(StringPool.DOT)) {
+			return scopeColumn;
+		}
+		String qualifier = table.getAlias() != null ? table.getAlias().getName() : table.getFullyQualifiedName();
+		return qualifier + StringPool.DOT + scopeColumn;
+	}
+
+}
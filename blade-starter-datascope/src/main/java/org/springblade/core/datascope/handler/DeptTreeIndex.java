@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.datascope.handler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.datascope.constant.DataScopeConstant;
+import org.springblade.core.tool.utils.Func;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内存部门树索引
+ *
+ * <p>
+ * 一次性加载全部部门的祖级信息，按祖级建立子级索引，解析子级部门时无需访问缓存及数据库。
+ * 索引超过刷新间隔后在下次访问时重建，部门变更后也可调用 {@link #invalidate()} 立即失效。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+final class DeptTreeIndex {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long refreshNanos;
+
+	private volatile Map<Long, List<Long>> descendants;
+	private volatile long loadedAt;
+
+	DeptTreeIndex(JdbcTemplate jdbcTemplate, Duration refreshInterval) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.refreshNanos = refreshInterval.toNanos();
+	}
+
+	/**
+	 * 获取部门子级
+	 *
+	 * @param deptId 部门id
+	 * @return deptIds
+	 */
+	List<Long> getDescendants(Long deptId) {
+		return index().getOrDefault(deptId, Collections.emptyList());
+	}
+
+	/**
+	 * 使索引失效，下次访问时重建
+	 */
+	void invalidate() {
+		descendants = null;
+	}
+
+	private Map<Long, List<Long>> index() {
+		Map<Long, List<Long>> current = descendants;
+		if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+			return current;
+		}
+		synchronized (this) {
+			current = descendants;
+			if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+				return current;
+			}
+			try {
+				current = load();
+			} catch (RuntimeException e) {
+				if (current == null) {
+					throw e;
+				}
+				// 重建失败时沿用旧索引，等待下个刷新周期
+				log.warn("dept tree index reload failed, keep previous index", e);
+			}
+			descendants = current;
+			loadedAt = System.nanoTime();
+			return current;
+		}
+	}
+
+	private Map<Long, List<Long>> load() {
+		Map<Long, List<Long>> index = new HashMap<>(256);
+		jdbcTemplate.query(DataScopeConstant.DEPT_ANCESTORS_ALL, rs -> {
+			long id = rs.getLong(1);
+			for (Long ancestor : Func.toLongList(rs.getString(2))) {
+				index.computeIfAbsent(ancestor, key -> new ArrayList<>()).add(id);
+			}
+		});
+		index.replaceAll((key, value) -> Collections.unmodifiableList(value));
+		return index;
+	}
+
+}
@@ -17,7 +17,11 @@ package org.springblade.core.datascope.handler;
 
 import org.springblade.core.datascope.model.DataScopeModel;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 获取数据权限模型统一接口
@@ -51,4 +55,22 @@ public interface ScopeModelHandler {
 	 */
 	List<Long> getDeptAncestors(Long deptId);
 
+	/**
+	 * 批量获取部门子级
+	 *
+	 * @param deptIds 部门id集合
+	 * @return 去重后的全部子级deptIds
+	 */
+	default List<Long> getDeptAncestors(Collection<Long> deptIds) {
+		Set<Long> result = new LinkedHashSet<>();
+		deptIds.forEach(deptId -> result.addAll(getDeptAncestors(deptId)));
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * 清空缓存
+	 */
+	default void clearCache() {
+	}
+
 }
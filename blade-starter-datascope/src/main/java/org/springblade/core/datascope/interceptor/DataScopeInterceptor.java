@@ -52,7 +52,7 @@ import java.util.concurrent.ConcurrentMap;
 @SuppressWarnings({"rawtypes"})
 public class DataScopeInterceptor implements QueryInterceptor {
 
-	private final ConcurrentMap<String, DataAuth> dataAuthMap = new ConcurrentHashMap<>(8);
+	private final ConcurrentMap<String, MapperScope> mapperScopeMap = new ConcurrentHashMap<>(8);
 
 	private final DataScopeHandler dataScopeHandler;
 	private final DataScopeProperties dataScopeProperties;
@@ -77,16 +77,12 @@ public class DataScopeInterceptor implements QueryInterceptor {
 		String originalSql = boundSql.getSql();
 
 		//查找注解中包含DataAuth类型的参数
-		DataAuth dataAuth = findDataAuthAnnotation(ms);
+		String mapperId = ms.getId();
+		MapperScope mapperScope = mapperScopeMap.computeIfAbsent(mapperId, this::buildMapperScope);
+		DataAuth dataAuth = mapperScope.dataAuth();
 
 		//注解为空并且数据权限方法名未匹配到,则放行
-		String mapperId = ms.getId();
-		String className = mapperId.substring(0, mapperId.lastIndexOf(StringPool.DOT));
-		String mapperName = ClassUtil.getShortName(className);
-		String methodName = mapperId.substring(mapperId.lastIndexOf(StringPool.DOT) + 1);
-		boolean mapperSkip = dataScopeProperties.getMapperKey().stream().noneMatch(methodName::contains)
-			|| dataScopeProperties.getMapperExclude().stream().anyMatch(mapperName::contains);
-		if (dataAuth == null && mapperSkip) {
+		if (dataAuth == null && mapperScope.skip()) {
 			return;
 		}
 
@@ -110,29 +106,49 @@ public class DataScopeInterceptor implements QueryInterceptor {
 		}
 	}
 
+	/**
+	 * 解析 mapper 方法的数据权限注解及是否按方法名放行
+	 *
+	 * @param mapperId mapperId
+	 * @return MapperScope
+	 */
+	private MapperScope buildMapperScope(String mapperId) {
+		String className = mapperId.substring(0, mapperId.lastIndexOf(StringPool.DOT));
+		String mapperName = ClassUtil.getShortName(className);
+		String methodName = mapperId.substring(mapperId.lastIndexOf(StringPool.DOT) + 1);
+		boolean mapperSkip = dataScopeProperties.getMapperKey().stream().noneMatch(methodName::contains)
+			|| dataScopeProperties.getMapperExclude().stream().anyMatch(mapperName::contains);
+		return new MapperScope(findDataAuthAnnotation(className, methodName), mapperSkip);
+	}
+
 	/**
 	 * 获取数据权限注解信息
 	 *
-	 * @param mappedStatement mappedStatement
+	 * @param className  mapper类名
+	 * @param methodName mapper方法名
 	 * @return DataAuth
 	 */
-	private DataAuth findDataAuthAnnotation(MappedStatement mappedStatement) {
-		String id = mappedStatement.getId();
-		return dataAuthMap.computeIfAbsent(id, (key) -> {
-			String className = key.substring(0, key.lastIndexOf(StringPool.DOT));
-			String mapperBean = StringUtil.firstCharToLower(ClassUtil.getShortName(className));
-			Object mapper = SpringUtil.getBean(mapperBean);
-			String methodName = key.substring(key.lastIndexOf(StringPool.DOT) + 1);
-			Class<?>[] interfaces = ClassUtil.getAllInterfaces(mapper);
-			for (Class<?> mapperInterface : interfaces) {
-				for (Method method : mapperInterface.getDeclaredMethods()) {
-					if (methodName.equals(method.getName()) && method.isAnnotationPresent(DataAuth.class)) {
-						return method.getAnnotation(DataAuth.class);
-					}
+	private DataAuth findDataAuthAnnotation(String className, String methodName) {
+		String mapperBean = StringUtil.firstCharToLower(ClassUtil.getShortName(className));
+		Object mapper = SpringUtil.getBean(mapperBean);
+		Class<?>[] interfaces = ClassUtil.getAllInterfaces(mapper);
+		for (Class<?> mapperInterface : interfaces) {
+			for (Method method : mapperInterface.getDeclaredMethods()) {
+				if (methodName.equals(method.getName()) && method.isAnnotationPresent(DataAuth.class)) {
+					return method.getAnnotation(DataAuth.class);
 				}
 			}
-			return null;
-		});
+		}
+		return null;
+	}
+
+	/**
+	 * mapper 方法的数据权限信息
+	 *
+	 * @param dataAuth 数据权限注解
+	 * @param skip     方法名未匹配时是否放行
+	 */
+	private record MapperScope(DataAuth dataAuth, boolean skip) {
 	}
 
 }
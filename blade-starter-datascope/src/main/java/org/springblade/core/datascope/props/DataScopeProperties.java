@@ -16,8 +16,10 @@
 package org.springblade.core.datascope.props;
 
 import lombok.Data;
+import org.springblade.core.datascope.enums.DataScopeModeEnum;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -45,4 +47,24 @@ public class DataScopeProperties {
 	 */
 	private List<String> mapperExclude = Collections.singletonList("FlowMapper");
 
+	/**
+	 * 数据权限sql改写方式，默认为子查询包装
+	 */
+	private DataScopeModeEnum mode = DataScopeModeEnum.WRAP;
+
+	/**
+	 * 条件下推时单个 in 列表的最大长度，超出后拆分为多个 in 条件以 or 连接
+	 */
+	private Integer maxInSize = 1000;
+
+	/**
+	 * 开启内存部门树索引，所在机构及子级权限解析子级部门时不再访问缓存及数据库
+	 */
+	private Boolean deptIndex = false;
+
+	/**
+	 * 内存部门树索引刷新间隔
+	 */
+	private Duration deptIndexRefresh = Duration.ofMinutes(5);
+
 }
@@ -34,4 +34,18 @@ public @interface ApiLog {
 	 * @return {String}
 	 */
 	String value() default "日志记录";
+
+	/**
+	 * 采样率，取值 0~1，默认全部记录
+	 *
+	 * @return {double}
+	 */
+	double sampleRate() default 1.0D;
+
+	/**
+	 * 每秒最多记录条数，小于等于 0 表示不限制
+	 *
+	 * @return {double}
+	 */
+	double permitsPerSecond() default 0D;
 }
@@ -16,13 +16,20 @@
 
 package org.springblade.core.log.aspect;
 
+import com.google.common.util.concurrent.RateLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springblade.core.log.annotation.ApiLog;
 import org.springblade.core.log.publisher.ApiLogPublisher;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * 操作日志使用spring event异步入库
  *
@@ -32,6 +39,11 @@ import org.springblade.core.log.publisher.ApiLogPublisher;
 @Aspect
 public class ApiLogAspect {
 
+	/**
+	 * 按方法限流，key 为配置了 permitsPerSecond 的注解方法
+	 */
+	private final Map<Method, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
 	@Around("@annotation(apiLog)")
 	public Object around(ProceedingJoinPoint point, ApiLog apiLog) throws Throwable {
 		//获取类名
@@ -45,8 +57,26 @@ public class ApiLogAspect {
 		//执行时长(毫秒)
 		long time = System.currentTimeMillis() - beginTime;
 		//记录日志
-		ApiLogPublisher.publishEvent(methodName, className, apiLog, time);
+		if (shouldLog(point, apiLog)) {
+			ApiLogPublisher.publishEvent(methodName, className, apiLog, time);
+		}
 		return result;
 	}
 
+	/**
+	 * 按注解配置的采样率及每秒条数判断是否记录日志
+	 */
+	private boolean shouldLog(ProceedingJoinPoint point, ApiLog apiLog) {
+		double sampleRate = apiLog.sampleRate();
+		if (sampleRate < 1.0D && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return false;
+		}
+		double permitsPerSecond = apiLog.permitsPerSecond();
+		if (permitsPerSecond <= 0D) {
+			return true;
+		}
+		Method method = ((MethodSignature) point.getSignature()).getMethod();
+		return rateLimiters.computeIfAbsent(method, key -> RateLimiter.create(permitsPerSecond)).tryAcquire();
+	}
+
 }
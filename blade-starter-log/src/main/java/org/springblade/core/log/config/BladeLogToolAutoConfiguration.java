@@ -22,10 +22,18 @@ import org.springblade.core.launch.server.ServerInfo;
 import org.springblade.core.log.aspect.ApiLogAspect;
 import org.springblade.core.log.event.ApiLogListener;
 import org.springblade.core.log.event.ErrorLogListener;
+import org.springblade.core.log.event.LogBatchListener;
+import org.springblade.core.log.event.LogBatchShipper;
 import org.springblade.core.log.event.UsualLogListener;
 import org.springblade.core.log.feign.ILogClient;
 import org.springblade.core.log.logger.BladeLogger;
+import org.springblade.core.log.model.LogAbstract;
+import org.springblade.core.log.model.LogApi;
+import org.springblade.core.log.model.LogError;
+import org.springblade.core.log.model.LogUsual;
 import org.springblade.core.log.props.BladeLogProperties;
+import org.springblade.core.log.utils.LogAbstractUtil;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -40,6 +48,7 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 @AllArgsConstructor
 @ConditionalOnWebApplication
+@EnableConfigurationProperties(BladeLogProperties.class)
 public class BladeLogToolAutoConfiguration {
 
 	private final ILogClient logService;
@@ -54,26 +63,62 @@ public class BladeLogToolAutoConfiguration {
 
 	@Bean
 	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "api.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "false", matchIfMissing = true)
 	public ApiLogListener apiLogListener() {
 		return new ApiLogListener(logService, serverInfo, bladeProperties);
 	}
 
 	@Bean
 	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "error.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "false", matchIfMissing = true)
 	public ErrorLogListener errorEventListener() {
 		return new ErrorLogListener(logService, serverInfo, bladeProperties);
 	}
 
 	@Bean
 	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "usual.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "false", matchIfMissing = true)
 	public UsualLogListener bladeEventListener() {
 		return new UsualLogListener(logService, serverInfo, bladeProperties);
 	}
 
+	@Bean
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "api.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "true")
+	public LogBatchShipper<LogApi> apiLogShipper(BladeLogProperties logProperties) {
+		return new LogBatchShipper<>("api", logService::saveApiLogs, this::addOtherInfo, logProperties.getBatch());
+	}
+
+	@Bean
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "error.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "true")
+	public LogBatchShipper<LogError> errorLogShipper(BladeLogProperties logProperties) {
+		return new LogBatchShipper<>("error", logService::saveErrorLogs, this::addOtherInfo, logProperties.getBatch());
+	}
+
+	@Bean
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "usual.enabled", havingValue = "true", matchIfMissing = true)
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "true")
+	public LogBatchShipper<LogUsual> usualLogShipper(BladeLogProperties logProperties) {
+		return new LogBatchShipper<>("usual", logService::saveUsualLogs, this::addOtherInfo, logProperties.getBatch());
+	}
+
+	@Bean
+	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "batch.enabled", havingValue = "true")
+	public LogBatchListener logBatchListener(ObjectProvider<LogBatchShipper<LogApi>> apiLogShipper,
+											 ObjectProvider<LogBatchShipper<LogUsual>> usualLogShipper,
+											 ObjectProvider<LogBatchShipper<LogError>> errorLogShipper) {
+		return new LogBatchListener(apiLogShipper.getIfAvailable(), usualLogShipper.getIfAvailable(), errorLogShipper.getIfAvailable());
+	}
+
 	@Bean
 	@ConditionalOnProperty(value = BladeLogProperties.PREFIX + "usual.enabled", havingValue = "true", matchIfMissing = true)
 	public BladeLogger bladeLogger() {
 		return new BladeLogger();
 	}
 
+	private void addOtherInfo(LogAbstract logAbstract) {
+		LogAbstractUtil.addOtherInfoToLog(logAbstract, bladeProperties, serverInfo);
+	}
+
 }
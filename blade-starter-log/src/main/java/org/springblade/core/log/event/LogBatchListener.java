@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.log.event;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.log.constant.EventConstant;
+import org.springblade.core.log.model.LogAbstract;
+import org.springblade.core.log.model.LogApi;
+import org.springblade.core.log.model.LogError;
+import org.springblade.core.log.model.LogUsual;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * 批量发送模式下的日志事件监听
+ *
+ * <p>
+ * 直接写入对应的 {@link LogBatchShipper}，日志信息由其后台线程补齐，不再占用异步线程池。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+@AllArgsConstructor
+public class LogBatchListener {
+
+	@Nullable
+	private final LogBatchShipper<LogApi> apiLogShipper;
+	@Nullable
+	private final LogBatchShipper<LogUsual> usualLogShipper;
+	@Nullable
+	private final LogBatchShipper<LogError> errorLogShipper;
+
+	@Order
+	@EventListener(ApiLogEvent.class)
+	public void saveApiLog(ApiLogEvent event) {
+		ship(apiLogShipper, event.getSource());
+	}
+
+	@Order
+	@EventListener(UsualLogEvent.class)
+	public void saveUsualLog(UsualLogEvent event) {
+		ship(usualLogShipper, event.getSource());
+	}
+
+	@Order
+	@EventListener(ErrorLogEvent.class)
+	public void saveErrorLog(ErrorLogEvent event) {
+		ship(errorLogShipper, event.getSource());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends LogAbstract> void ship(@Nullable LogBatchShipper<T> shipper, Object source) {
+		if (shipper == null) {
+			return;
+		}
+		try {
+			shipper.offer((T) ((Map<String, Object>) source).get(EventConstant.EVENT_LOG));
+		} catch (Exception e) {
+			log.error("提交日志失败", e);
+		}
+	}
+
+}
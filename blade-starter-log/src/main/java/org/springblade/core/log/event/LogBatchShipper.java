@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.log.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.log.props.BladeLogProperties;
+import org.springblade.core.tool.api.R;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 日志批量发送器
+ *
+ * <p>
+ * 日志写入有界环形队列，由单个后台线程补齐日志信息并按条数或等待时间攒批后调用批量接口发送，
+ * 队列满时按配置的策略丢弃或阻塞调用方，应用停止时发送队列中剩余的日志。
+ * </p>
+ *
+ * @param <T> 日志类型
+ * @author Chill
+ */
+@Slf4j
+public class LogBatchShipper<T> implements SmartLifecycle, MeterBinder {
+
+	private final String type;
+	private final Function<List<T>, R<Boolean>> sender;
+	@Nullable
+	private final Consumer<T> preparer;
+	private final BlockingQueue<T> queue;
+	private final int batchSize;
+	private final long lingerNanos;
+	private final BladeLogProperties.OverflowPolicy overflowPolicy;
+	private final long blockTimeoutNanos;
+
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private volatile Timer flushTimer;
+
+	private volatile boolean running;
+	private Thread worker;
+
+	/**
+	 * @param type   日志类型，用于线程名及指标标签
+	 * @param sender 批量发送函数
+	 * @param batch  批量发送配置
+	 */
+	public LogBatchShipper(String type, Function<List<T>, R<Boolean>> sender, BladeLogProperties.Batch batch) {
+		this(type, sender, null, batch);
+	}
+
+	/**
+	 * @param type     日志类型，用于线程名及指标标签
+	 * @param sender   批量发送函数
+	 * @param preparer 发送前在后台线程上对每条日志执行的补齐处理
+	 * @param batch    批量发送配置
+	 */
+	public LogBatchShipper(String type, Function<List<T>, R<Boolean>> sender, @Nullable Consumer<T> preparer, BladeLogProperties.Batch batch) {
+		this.type = type;
+		this.sender = sender;
+		this.preparer = preparer;
+		this.queue = new ArrayBlockingQueue<>(batch.getQueueCapacity());
+		this.batchSize = batch.getBatchSize();
+		this.lingerNanos = batch.getLinger().toNanos();
+		this.overflowPolicy = batch.getOverflowPolicy();
+		this.blockTimeoutNanos = batch.getBlockTimeout().toNanos();
+	}
+
+	/**
+	 * 提交日志
+	 *
+	 * @param log 日志
+	 * @return 是否已入队，false 表示被丢弃
+	 */
+	public boolean offer(T log) {
+		switch (overflowPolicy) {
+			case BLOCK:
+				try {
+					if (queue.offer(log, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+						return true;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				break;
+			case DROP_OLDEST:
+				while (!queue.offer(log)) {
+					if (queue.poll() != null) {
+						dropped.increment();
+					}
+				}
+				return true;
+			default:
+				if (queue.offer(log)) {
+					return true;
+				}
+		}
+		dropped.increment();
+		return false;
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		worker = new Thread(this::run, "blade-log-shipper-" + type);
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		Thread thread = worker;
+		if (thread == null) {
+			return;
+		}
+		thread.interrupt();
+		try {
+			thread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		Gauge.builder("blade.log.shipper.queue.depth", queue, Collection::size)
+			.tag("type", type)
+			.description("Logs waiting to be shipped")
+			.register(registry);
+		FunctionCounter.builder("blade.log.shipper.dropped", dropped, LongAdder::sum)
+			.tag("type", type)
+			.description("Logs dropped because the queue was full")
+			.register(registry);
+		FunctionCounter.builder("blade.log.shipper.failed", failed, LongAdder::sum)
+			.tag("type", type)
+			.description("Logs lost because the batch call failed")
+			.register(registry);
+		flushTimer = Timer.builder("blade.log.shipper.flush")
+			.tag("type", type)
+			.description("Batch call latency")
+			.register(registry);
+	}
+
+	private void run() {
+		List<T> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				collect(batch);
+			} catch (InterruptedException e) {
+				// 停止时中断等待，已收集的日志照常发送，剩余日志在后续循环中发送
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * 收集一批日志，攒满单批条数或超过等待时间即返回
+	 */
+	private void collect(List<T> batch) throws InterruptedException {
+		if (!running) {
+			queue.drainTo(batch, batchSize);
+			return;
+		}
+		T first = queue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+		if (first == null) {
+			return;
+		}
+		batch.add(first);
+		long deadline = System.nanoTime() + lingerNanos;
+		while (batch.size() < batchSize) {
+			queue.drainTo(batch, batchSize - batch.size());
+			long remaining = deadline - System.nanoTime();
+			if (batch.size() >= batchSize || remaining <= 0) {
+				return;
+			}
+			T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void flush(List<T> batch) {
+		if (preparer != null) {
+			batch.forEach(preparer);
+		}
+		long start = System.nanoTime();
+		try {
+			R<Boolean> result = sender.apply(batch);
+			if (!R.isSuccess(result)) {
+				failed.add(batch.size());
+				log.warn("批量保存{}日志失败，丢弃 {} 条：{}", type, batch.size(), result == null ? null : result.getMsg());
+			}
+		} catch (Exception e) {
+			failed.add(batch.size());
+			log.error("批量保存{}日志失败，丢弃 {} 条", type, batch.size(), e);
+		} finally {
+			Timer timer = flushTimer;
+			if (timer != null) {
+				timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+}
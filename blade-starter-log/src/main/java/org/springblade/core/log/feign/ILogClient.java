@@ -24,6 +24,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 /**
  * Feign接口类
  *
@@ -64,4 +66,31 @@ public interface ILogClient {
 	@PostMapping(API_PREFIX + "/saveErrorLog")
 	R<Boolean> saveErrorLog(@RequestBody LogError log);
 
+	/**
+	 * 批量保存通用日志
+	 *
+	 * @param logs 日志实体集合
+	 * @return boolean
+	 */
+	@PostMapping(API_PREFIX + "/saveUsualLogs")
+	R<Boolean> saveUsualLogs(@RequestBody List<LogUsual> logs);
+
+	/**
+	 * 批量保存操作日志
+	 *
+	 * @param logs 日志实体集合
+	 * @return boolean
+	 */
+	@PostMapping(API_PREFIX + "/saveApiLogs")
+	R<Boolean> saveApiLogs(@RequestBody List<LogApi> logs);
+
+	/**
+	 * 批量保存错误日志
+	 *
+	 * @param logs 日志实体集合
+	 * @return boolean
+	 */
+	@PostMapping(API_PREFIX + "/saveErrorLogs")
+	R<Boolean> saveErrorLogs(@RequestBody List<LogError> logs);
+
 }
@@ -7,6 +7,8 @@ import org.springblade.core.log.model.LogUsual;
 import org.springblade.core.tool.api.R;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * 日志fallback
  *
@@ -30,4 +32,19 @@ public class LogClientFallback implements ILogClient {
 	public R<Boolean> saveErrorLog(LogError log) {
 		return R.fail("error log send fail");
 	}
+
+	@Override
+	public R<Boolean> saveUsualLogs(List<LogUsual> logs) {
+		return R.fail("usual logs send fail");
+	}
+
+	@Override
+	public R<Boolean> saveApiLogs(List<LogApi> logs) {
+		return R.fail("api logs send fail");
+	}
+
+	@Override
+	public R<Boolean> saveErrorLogs(List<LogError> logs) {
+		return R.fail("error logs send fail");
+	}
 }
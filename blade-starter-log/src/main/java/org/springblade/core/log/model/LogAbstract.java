@@ -17,11 +17,14 @@ package org.springblade.core.log.model;
 
 
 import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
+import org.springblade.core.log.utils.RequestSnapshot;
 import org.springblade.core.tool.utils.DateUtil;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -108,4 +111,11 @@ public class LogAbstract implements Serializable {
 	@JsonFormat(pattern = DateUtil.PATTERN_DATETIME)
 	protected Date createTime;
 
+	/**
+	 * 延迟采集的请求信息，由日志消费线程写入上述字段后清空
+	 */
+	@JsonIgnore
+	@TableField(exist = false)
+	protected transient RequestSnapshot requestSnapshot;
+
 }
@@ -19,6 +19,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * 异步配置
  *
@@ -45,4 +47,60 @@ public class BladeLogProperties {
 	 * 是否开启 usual 日志
 	 */
 	private Boolean usual = Boolean.TRUE;
+	/**
+	 * 是否延迟采集请求信息，开启后请求线程只复制请求数据，解析及格式化在日志消费线程执行
+	 */
+	private Boolean lazyCapture = Boolean.FALSE;
+
+	/**
+	 * 批量发送配置
+	 */
+	private Batch batch = new Batch();
+
+	@Getter
+	@Setter
+	public static class Batch {
+		/**
+		 * 是否开启批量发送，需日志服务提供批量保存接口
+		 */
+		private Boolean enabled = Boolean.FALSE;
+		/**
+		 * 每类日志的队列容量
+		 */
+		private Integer queueCapacity = 10000;
+		/**
+		 * 单批最大条数
+		 */
+		private Integer batchSize = 100;
+		/**
+		 * 批次最长等待时间，未攒满单批条数时到时即发送
+		 */
+		private Duration linger = Duration.ofSeconds(1);
+		/**
+		 * 队列满时的处理策略
+		 */
+		private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+		/**
+		 * BLOCK 策略下的最长阻塞时间，超时后丢弃
+		 */
+		private Duration blockTimeout = Duration.ofMillis(100);
+	}
+
+	/**
+	 * 队列满时的处理策略
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * 丢弃新日志
+		 */
+		DROP_NEWEST,
+		/**
+		 * 丢弃最早的日志
+		 */
+		DROP_OLDEST,
+		/**
+		 * 阻塞调用方直至超时
+		 */
+		BLOCK
+	}
 }
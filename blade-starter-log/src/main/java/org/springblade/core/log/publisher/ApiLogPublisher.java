@@ -29,8 +29,7 @@ import org.springblade.core.tool.utils.SpringUtil;
 import org.springblade.core.tool.utils.WebUtil;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
 
 /**
  * API日志信息事件发送
@@ -49,9 +48,7 @@ public class ApiLogPublisher {
 		logApi.setMethodName(methodName);
 
 		LogAbstractUtil.addRequestInfoToLog(request, logApi);
-		Map<String, Object> event = new HashMap<>(16);
-		event.put(EventConstant.EVENT_LOG, logApi);
-		SpringUtil.publishEvent(new ApiLogEvent(event));
+		SpringUtil.publishEvent(new ApiLogEvent(Collections.singletonMap(EventConstant.EVENT_LOG, logApi)));
 	}
 
 }
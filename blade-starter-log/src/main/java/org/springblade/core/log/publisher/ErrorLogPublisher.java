@@ -56,7 +56,7 @@ public class ErrorLogPublisher {
 		}
 		LogAbstractUtil.addRequestInfoToLog(request, logError);
 
-		Map<String, Object> event = new HashMap<>(16);
+		Map<String, Object> event = new HashMap<>(4);
 		event.put(EventConstant.EVENT_LOG, logError);
 		event.put(EventConstant.EVENT_REQUEST, request);
 		SpringUtil.publishEvent(new ErrorLogEvent(event));
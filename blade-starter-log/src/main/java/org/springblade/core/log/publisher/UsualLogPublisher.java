@@ -43,7 +43,7 @@ public class UsualLogPublisher {
 		logUsual.setLogData(data);
 
 		LogAbstractUtil.addRequestInfoToLog(request, logUsual);
-		Map<String, Object> event = new HashMap<>(16);
+		Map<String, Object> event = new HashMap<>(4);
 		event.put(EventConstant.EVENT_LOG, logUsual);
 		event.put(EventConstant.EVENT_REQUEST, request);
 		SpringUtil.publishEvent(new UsualLogEvent(event));
@@ -16,9 +16,11 @@
 
 package org.springblade.core.log.utils;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springblade.core.launch.props.BladeProperties;
 import org.springblade.core.launch.server.ServerInfo;
 import org.springblade.core.log.model.LogAbstract;
+import org.springblade.core.log.props.BladeLogProperties;
 import org.springblade.core.secure.utils.SecureUtil;
 import org.springblade.core.tool.utils.*;
 
@@ -29,8 +31,28 @@ import jakarta.servlet.http.HttpServletRequest;
  *
  * @author Chill
  */
+@Slf4j
 public class LogAbstractUtil {
 
+	private static BladeLogProperties LOG_PROPERTIES;
+
+	/**
+	 * 获取日志配置
+	 *
+	 * @return BladeLogProperties
+	 */
+	private static BladeLogProperties getLogProperties() {
+		if (LOG_PROPERTIES == null) {
+			try {
+				LOG_PROPERTIES = SpringUtil.getBean(BladeLogProperties.class);
+			} catch (Exception e) {
+				log.debug("BladeLogProperties bean not available, using defaults", e);
+				return new BladeLogProperties();
+			}
+		}
+		return LOG_PROPERTIES;
+	}
+
 	/**
 	 * 向log中添加补齐request的信息
 	 *
@@ -38,7 +60,9 @@ public class LogAbstractUtil {
 	 * @param logAbstract 日志基础类
 	 */
 	public static void addRequestInfoToLog(HttpServletRequest request, LogAbstract logAbstract) {
-		if (ObjectUtil.isNotEmpty(request)) {
+		if (ObjectUtil.isNotEmpty(request) && getLogProperties().getLazyCapture()) {
+			logAbstract.setRequestSnapshot(RequestSnapshot.capture(request));
+		} else if (ObjectUtil.isNotEmpty(request)) {
 			logAbstract.setRemoteIp(WebUtil.getIP(request));
 			logAbstract.setUserAgent(request.getHeader(WebUtil.USER_AGENT_HEADER));
 			logAbstract.setRequestUri(UrlUtil.getPath(request.getRequestURI()));
@@ -56,6 +80,11 @@ public class LogAbstractUtil {
 	 * @param serverInfo      服务信息
 	 */
 	public static void addOtherInfoToLog(LogAbstract logAbstract, BladeProperties bladeProperties, ServerInfo serverInfo) {
+		RequestSnapshot requestSnapshot = logAbstract.getRequestSnapshot();
+		if (requestSnapshot != null) {
+			requestSnapshot.applyTo(logAbstract);
+			logAbstract.setRequestSnapshot(null);
+		}
 		logAbstract.setServiceId(bladeProperties.getName());
 		logAbstract.setServerHost(serverInfo.getHostName());
 		logAbstract.setServerIp(serverInfo.getIpWithPort());
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.log.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springblade.core.launch.constant.TokenConstant;
+import org.springblade.core.log.model.LogAbstract;
+import org.springblade.core.secure.BladeUser;
+import org.springblade.core.secure.utils.SecureUtil;
+import org.springblade.core.tool.utils.StringPool;
+import org.springblade.core.tool.utils.StringUtil;
+import org.springblade.core.tool.utils.UrlUtil;
+import org.springblade.core.tool.utils.WebUtil;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 请求信息快照
+ *
+ * <p>
+ * 在请求线程上只复制请求头、uri、请求体等不可变引用，参数格式化及 token 解析
+ * 延迟到日志消费线程执行，结果与 {@link LogAbstractUtil#addRequestInfoToLog} 一致。
+ * </p>
+ *
+ * @author Chill
+ */
+public final class RequestSnapshot implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private final String ip;
+	private final String userAgent;
+	private final String requestUri;
+	private final String method;
+	private final String queryString;
+	private final byte[] body;
+	private final String charEncoding;
+	private final Map<String, String[]> parameters;
+	private final String auth;
+
+	private RequestSnapshot(String ip, String userAgent, String requestUri, String method, String queryString,
+							byte[] body, String charEncoding, Map<String, String[]> parameters, String auth) {
+		this.ip = ip;
+		this.userAgent = userAgent;
+		this.requestUri = requestUri;
+		this.method = method;
+		this.queryString = queryString;
+		this.body = body;
+		this.charEncoding = charEncoding;
+		this.parameters = parameters;
+		this.auth = auth;
+	}
+
+	/**
+	 * 采集请求信息，需在请求线程上调用
+	 *
+	 * @param request 请求
+	 * @return RequestSnapshot
+	 */
+	public static RequestSnapshot capture(HttpServletRequest request) {
+		String ip = WebUtil.getIP(request);
+		String queryString = request.getQueryString();
+		byte[] body = null;
+		Map<String, String[]> parameters = null;
+		if (StringUtil.isBlank(queryString)) {
+			try {
+				body = WebUtil.getRequestBytes(request);
+			} catch (IOException | RuntimeException e) {
+				body = null;
+			}
+			// 请求体为空时使用表单参数，参数数组在请求结束后不会被修改，复制 map 即可
+			if (body != null && isBlank(body)) {
+				parameters = new LinkedHashMap<>(request.getParameterMap());
+			}
+		}
+		String auth = request.getHeader(TokenConstant.HEADER);
+		if (StringUtil.isBlank(auth)) {
+			auth = request.getParameter(TokenConstant.HEADER);
+		}
+		return new RequestSnapshot(ip, request.getHeader(WebUtil.USER_AGENT_HEADER), request.getRequestURI(),
+			request.getMethod(), queryString, body, request.getCharacterEncoding(), parameters, auth);
+	}
+
+	/**
+	 * 将请求信息写入日志，在日志消费线程上调用
+	 *
+	 * @param logAbstract 日志基础类
+	 */
+	public void applyTo(LogAbstract logAbstract) {
+		logAbstract.setRemoteIp(ip);
+		logAbstract.setUserAgent(userAgent);
+		logAbstract.setRequestUri(UrlUtil.getPath(requestUri));
+		logAbstract.setMethod(method);
+		logAbstract.setParams(params());
+		BladeUser user = SecureUtil.getUser(auth);
+		logAbstract.setCreateBy(user == null ? StringPool.EMPTY : user.getAccount());
+	}
+
+	/**
+	 * 与 {@link WebUtil#getRequestParamString} 相同的格式化规则
+	 */
+	private String params() {
+		try {
+			if (StringUtil.isNotBlank(queryString)) {
+				return WebUtil.getQueryParamString(queryString);
+			}
+			if (body == null) {
+				return StringPool.EMPTY;
+			}
+			return WebUtil.getRequestStr(body, charEncoding, () -> parameters == null ? Collections.emptyMap() : parameters);
+		} catch (Exception e) {
+			return StringPool.EMPTY;
+		}
+	}
+
+	private static boolean isBlank(byte[] bytes) {
+		for (byte b : bytes) {
+			if (!Character.isWhitespace(b)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
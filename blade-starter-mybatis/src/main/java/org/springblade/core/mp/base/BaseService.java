@@ -20,6 +20,7 @@ import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.service.IService;
 import jakarta.validation.constraints.NotEmpty;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -73,4 +74,26 @@ public interface BaseService<T> extends IService<T> {
 	 */
 	boolean isFieldDuplicate(SFunction<T, ?> field, Object value, Long excludedId);
 
+	/**
+	 * 多行 insert 批量新增，每条语句行数取 blade.mybatis-plus.batch.insert-size
+	 *
+	 * @param entityList 实体集合
+	 * @return boolean
+	 */
+	boolean insertBatch(Collection<T> entityList);
+
+	/**
+	 * 多行 insert 批量新增
+	 * <p>
+	 * 以 INSERT ... VALUES (...),(...) 写入全部字段，未赋值字段写入 null 而非数据库默认值。
+	 * tenant_id 同样显式写入，租户插件不再追加租户，租户实体未赋值 tenantId 时按当前租户回填（忽略租户时不回填）。
+	 * 存在事务时加入当前事务顺序执行；无事务时各批独立提交，某一批失败时之前已写入的批次不会回滚，
+	 * 配置了 parallelism 时在共享线程池中按批并行写入。
+	 *
+	 * @param entityList 实体集合
+	 * @param batchSize  每条语句行数
+	 * @return boolean
+	 */
+	boolean insertBatch(Collection<T> entityList, int batchSize);
+
 }
@@ -23,19 +23,32 @@ import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import jakarta.validation.constraints.NotEmpty;
-import lombok.SneakyThrows;
+import com.google.common.collect.Lists;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionUtils;
+import org.springblade.core.mp.config.MybatisPlusConfiguration;
+import org.springblade.core.mp.injector.BladeSqlInjector;
+import org.springblade.core.mp.props.MybatisPlusProperties;
 import org.springblade.core.mp.support.Condition;
 import org.springblade.core.secure.BladeUser;
+import org.springblade.core.secure.context.BladeContext;
 import org.springblade.core.secure.utils.SecureUtil;
 import org.springblade.core.tool.constant.BladeConstant;
-import org.springblade.core.tool.utils.DateUtil;
+import org.springblade.core.tool.utils.Exceptions;
 import org.springblade.core.tool.utils.Func;
+import org.springblade.core.tool.utils.SpringUtil;
+import org.springblade.core.tool.utils.StringPool;
+import org.springblade.core.tool.utils.StringUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * 业务封装基础类
@@ -47,9 +60,17 @@ import java.util.Map;
 @Validated
 public class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseEntity> extends ServiceImpl<M, T> implements BaseService<T> {
 
+	/**
+	 * 多行 insert 并行写入线程池，未配置并行度时为空
+	 */
+	@Autowired(required = false)
+	@Qualifier(MybatisPlusConfiguration.INSERT_BATCH_EXECUTOR_BEAN_NAME)
+	private Executor insertBatchExecutor;
+
 	@Override
 	public T queryOne(QueryWrapper<T> queryWrapper) {
-		Page<T> page = Page.of(1, 1);
+		// 仅 limit 1，不查询总数
+		Page<T> page = Page.of(1, 1, false);
 		Page<T> result = super.page(page, queryWrapper);
 		return result.getRecords().isEmpty() ? null : result.getRecords().get(0);
 	}
@@ -68,25 +89,69 @@ public class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseEntity> exte
 
 	@Override
 	public boolean save(T entity) {
-		this.resolveSave(entity);
+		this.resolveSave(entity, AuditContext.current());
 		return super.save(entity);
 	}
 
 	@Override
 	public boolean saveBatch(Collection<T> entityList, int batchSize) {
-		entityList.forEach(this::resolveSave);
+		AuditContext context = AuditContext.current();
+		entityList.forEach(entity -> resolveSave(entity, context));
 		return super.saveBatch(entityList, batchSize);
 	}
 
+	@Override
+	public boolean insertBatch(Collection<T> entityList) {
+		MybatisPlusProperties properties = SpringUtil.getBean(MybatisPlusProperties.class);
+		int batchSize = properties == null ? new MybatisPlusProperties.Batch().getInsertSize() : properties.getBatch().getInsertSize();
+		return insertBatch(entityList, batchSize);
+	}
+
+	@Override
+	public boolean insertBatch(Collection<T> entityList, int batchSize) {
+		if (Func.isEmpty(entityList)) {
+			return false;
+		}
+		AuditContext context = AuditContext.current();
+		entityList.forEach(entity -> {
+			resolveSave(entity, context);
+			resolveTenant(entity, context);
+		});
+		SqlSessionFactory sqlSessionFactory = getSqlSessionFactory();
+		String statement = getMapperClass().getName() + StringPool.DOT + BladeSqlInjector.INSERT_BATCH;
+		// 未注入多行 insert 方法（如自定义了 ISqlInjector）时回退到默认批量新增
+		if (!sqlSessionFactory.getConfiguration().hasStatement(statement, false)) {
+			return super.saveBatch(entityList, batchSize);
+		}
+		List<List<T>> partitions = Lists.partition(new ArrayList<>(entityList), Math.max(batchSize, 1));
+		MybatisPlusProperties properties = SpringUtil.getBean(MybatisPlusProperties.class);
+		int parallelism = properties == null ? 1 : Math.min(properties.getBatch().getParallelism(), partitions.size());
+		// 存在事务时必须在当前线程内执行，以加入当前事务
+		if (parallelism <= 1 || insertBatchExecutor == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+			partitions.forEach(partition -> insertPartition(sqlSessionFactory, statement, partition));
+			return true;
+		}
+		CompletableFuture<?>[] futures = partitions.stream()
+			.map(partition -> CompletableFuture.runAsync(() -> insertPartition(sqlSessionFactory, statement, partition), insertBatchExecutor))
+			.toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException e) {
+			throw Exceptions.unchecked(e.getCause());
+		}
+		return true;
+	}
+
 	@Override
 	public boolean updateById(T entity) {
-		this.resolveUpdate(entity);
+		this.resolveUpdate(entity, AuditContext.current());
 		return super.updateById(entity);
 	}
 
 	@Override
 	public boolean updateBatchById(Collection<T> entityList, int batchSize) {
-		entityList.forEach(this::resolveUpdate);
+		AuditContext context = AuditContext.current();
+		entityList.forEach(entity -> resolveUpdate(entity, context));
 		return super.updateBatchById(entityList, batchSize);
 	}
 
@@ -114,30 +179,79 @@ public class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseEntity> exte
 		return baseMapper.selectCount(queryWrapper) > 0;
 	}
 
-	@SneakyThrows
-	private void resolveSave(T entity) {
-		BladeUser user = SecureUtil.getUser();
-		if (user != null) {
-			entity.setCreateUser(user.getUserId());
-			entity.setCreateDept(Func.firstLong(user.getDeptId()));
-			entity.setUpdateUser(user.getUserId());
+	/**
+	 * 执行一条多行 insert，无事务时自行提交
+	 */
+	private void insertPartition(SqlSessionFactory sqlSessionFactory, String statement, List<T> partition) {
+		SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+		try {
+			sqlSession.insert(statement, Collections.singletonMap("list", partition));
+			if (!SqlSessionUtils.isSqlSessionTransactional(sqlSession, sqlSessionFactory)) {
+				sqlSession.commit(true);
+			}
+		} finally {
+			SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
 		}
-		Date now = DateUtil.now();
-		entity.setCreateTime(now);
-		entity.setUpdateTime(now);
+	}
+
+	/**
+	 * 多行 insert 显式写入 tenant_id 列，租户插件不再追加租户，未赋值时按当前租户回填
+	 */
+	private void resolveTenant(T entity, AuditContext context) {
+		if (entity instanceof TenantEntity tenantEntity && tenantEntity.getTenantId() == null && StringUtil.isNotBlank(context.tenantId())) {
+			tenantEntity.setTenantId(context.tenantId());
+		}
+	}
+
+	private void resolveSave(T entity, AuditContext context) {
+		if (context.hasUser()) {
+			entity.setCreateUser(context.userId());
+			entity.setCreateDept(context.deptId());
+			entity.setUpdateUser(context.userId());
+		}
+		entity.setCreateTime(context.now());
+		entity.setUpdateTime(context.now());
 		if (entity.getStatus() == null) {
 			entity.setStatus(BladeConstant.DB_STATUS_NORMAL);
 		}
 		entity.setIsDeleted(BladeConstant.DB_NOT_DELETED);
 	}
 
-	@SneakyThrows
-	private void resolveUpdate(T entity) {
-		BladeUser user = SecureUtil.getUser();
-		if (user != null) {
-			entity.setUpdateUser(user.getUserId());
+	private void resolveUpdate(T entity, AuditContext context) {
+		if (context.hasUser()) {
+			entity.setUpdateUser(context.userId());
+		}
+		entity.setUpdateTime(context.now());
+	}
+
+	/**
+	 * 审计信息，同一批次只解析一次
+	 *
+	 * @param hasUser   是否存在登录用户
+	 * @param userId    用户id
+	 * @param deptId    部门id
+	 * @param tenantId  当前租户id，忽略租户时为空
+	 * @param timestamp 当前时间戳，Date 可变，每个字段使用独立的实例
+	 */
+	private record AuditContext(boolean hasUser, Long userId, Long deptId, String tenantId, long timestamp) {
+
+		Date now() {
+			return new Date(timestamp);
+		}
+
+		static AuditContext current() {
+			BladeContext bladeContext = BladeContext.current();
+			BladeUser user = SecureUtil.getUser();
+			String tenantId = null;
+			// 与租户插件取租户id的规则一致：优先使用上下文指定的租户，其次为登录用户的租户
+			if (!bladeContext.isTenantIgnore()) {
+				tenantId = bladeContext.getTenantId() != null ? bladeContext.getTenantId() : (user == null ? null : user.getTenantId());
+			}
+			if (user == null) {
+				return new AuditContext(false, null, null, tenantId, System.currentTimeMillis());
+			}
+			return new AuditContext(true, user.getUserId(), Func.firstLong(user.getDeptId()), tenantId, System.currentTimeMillis());
 		}
-		entity.setUpdateTime(DateUtil.now());
 	}
 
 }
@@ -17,6 +17,7 @@ package org.springblade.core.mp.config;
 
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusProperties.CoreConfiguration;
 import com.baomidou.mybatisplus.autoconfigure.MybatisPlusPropertiesCustomizer;
+import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
@@ -26,21 +27,28 @@ import net.sf.jsqlparser.expression.StringValue;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.nologging.NoLoggingImpl;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springblade.core.mp.injector.BladeSqlInjector;
 import org.springblade.core.mp.intercept.QueryInterceptor;
 import org.springblade.core.mp.plugins.BladePaginationInterceptor;
 import org.springblade.core.mp.plugins.SqlLogInterceptor;
+import org.springblade.core.mp.plugins.SqlMetricsInterceptor;
 import org.springblade.core.mp.props.MybatisPlusProperties;
+import org.springblade.core.secure.context.BladeContextTaskDecorator;
 import org.springblade.core.secure.utils.SecureUtil;
 import org.springblade.core.tool.constant.BladeConstant;
 import org.springblade.core.tool.utils.Func;
 import org.springblade.core.tool.utils.ObjectUtil;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * mybatis plus 配置
@@ -53,6 +61,11 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 @EnableConfigurationProperties(MybatisPlusProperties.class)
 public class MybatisPlusConfiguration {
 
+	/**
+	 * 多行 insert 并行写入线程池
+	 */
+	public static final String INSERT_BATCH_EXECUTOR_BEAN_NAME = "bladeInsertBatchExecutor";
+
 	/**
 	 * 租户拦截器
 	 */
@@ -97,6 +110,15 @@ public class MybatisPlusConfiguration {
 		return interceptor;
 	}
 
+	/**
+	 * sql 注入器
+	 */
+	@Bean
+	@ConditionalOnMissingBean(ISqlInjector.class)
+	public BladeSqlInjector bladeSqlInjector() {
+		return new BladeSqlInjector();
+	}
+
 	/**
 	 * sql 日志
 	 *
@@ -108,6 +130,41 @@ public class MybatisPlusConfiguration {
 		return new SqlLogInterceptor(properties);
 	}
 
+	/**
+	 * sql 耗时统计与慢 sql 日志
+	 *
+	 * @return SqlMetricsInterceptor
+	 */
+	@Bean
+	@ConditionalOnProperty(value = "blade.mybatis-plus.sql-metrics.enabled", matchIfMissing = true)
+	public SqlMetricsInterceptor sqlMetricsInterceptor(MybatisPlusProperties properties) {
+		return new SqlMetricsInterceptor(properties.getSqlMetrics());
+	}
+
+	/**
+	 * 多行 insert 并行写入线程池，仅在并行度大于 1 时创建，任务执行时绑定提交线程的请求上下文
+	 *
+	 * @return ThreadPoolTaskExecutor
+	 */
+	@Bean(INSERT_BATCH_EXECUTOR_BEAN_NAME)
+	@ConditionalOnMissingBean(name = INSERT_BATCH_EXECUTOR_BEAN_NAME)
+	@ConditionalOnExpression("${blade.mybatis-plus.batch.parallelism:1} > 1")
+	public ThreadPoolTaskExecutor bladeInsertBatchExecutor(MybatisPlusProperties properties) {
+		MybatisPlusProperties.Batch batch = properties.getBatch();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(batch.getParallelism());
+		executor.setMaxPoolSize(batch.getParallelism());
+		executor.setQueueCapacity(batch.getQueueCapacity());
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("blade-insert-batch-");
+		// 调用线程本身在等待写入完成，队列满时直接由调用线程执行
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setTaskDecorator(new BladeContextTaskDecorator());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
 	/**
 	 * 关闭 mybatis 默认日志
 	 */
@@ -16,33 +16,23 @@
 package org.springblade.core.mp.plugins;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.core.NamedThreadLocal;
+import org.springblade.core.secure.context.BladeContext;
 
 import java.util.function.Supplier;
 
 /**
- * Sql 日志工具，按线程标记忽略 sql 日志打印
+ * Sql 日志工具，按线程标记忽略 sql 日志打印，标记保存在 {@link BladeContext} 中，可随上下文传递到异步线程
  *
  * @author Chill
  */
 @UtilityClass
 public class SqlLogUtil {
 
-	/**
-	 * sql 日志忽略线程
-	 */
-	private static final ThreadLocal<Boolean> SQL_LOG_IGNORE_HOLDER = new NamedThreadLocal<>("blade-sql-log-ignore") {
-		@Override
-		protected Boolean initialValue() {
-			return Boolean.FALSE;
-		}
-	};
-
 	/**
 	 * 是否忽略 sql 日志
 	 */
 	public static Boolean isIgnore() {
-		return SQL_LOG_IGNORE_HOLDER.get();
+		return BladeContext.current().isSqlLogIgnore();
 	}
 
 	/**
@@ -53,12 +43,7 @@ public class SqlLogUtil {
 	 * @return R 函数返回
 	 */
 	public static <R> R ignore(Supplier<R> supplier) {
-		try {
-			SQL_LOG_IGNORE_HOLDER.set(Boolean.TRUE);
-			return supplier.get();
-		} finally {
-			SQL_LOG_IGNORE_HOLDER.remove();
-		}
+		return BladeContext.current().withSqlLogIgnore(true).supply(supplier);
 	}
 
 	/**
@@ -67,12 +52,7 @@ public class SqlLogUtil {
 	 * @param runnable Runnable
 	 */
 	public static void ignore(Runnable runnable) {
-		try {
-			SQL_LOG_IGNORE_HOLDER.set(Boolean.TRUE);
-			runnable.run();
-		} finally {
-			SQL_LOG_IGNORE_HOLDER.remove();
-		}
+		BladeContext.current().withSqlLogIgnore(true).run(runnable);
 	}
 
 }
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.mp.plugins;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springblade.core.mp.props.MybatisPlusProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sql 耗时统计与慢 sql 日志
+ *
+ * <p>
+ * 按 MappedStatement 记录耗时与影响行数，指标名 blade.sql 与 blade.sql.rows，可通过 /actuator/metrics 查看；
+ * 仅对超过慢 sql 阈值或被采样的语句组装 sql 与参数并打印日志，{@link SqlLogUtil#ignore} 标记的语句不打印。
+ * </p>
+ *
+ * @author Chill
+ */
+@Slf4j
+@Intercepts({
+	@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+	@Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlMetricsInterceptor implements Interceptor, MeterBinder {
+
+	/**
+	 * 超出统计语句数后归入该语句
+	 */
+	private static final String OTHER_STATEMENT = "other";
+
+	private final MybatisPlusProperties.SqlMetrics properties;
+	private final Map<String, StatementMetrics> statementMetrics = new ConcurrentHashMap<>();
+	private volatile MeterRegistry registry;
+
+	public SqlMetricsInterceptor(MybatisPlusProperties.SqlMetrics properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		long startNs = System.nanoTime();
+		Object result = invocation.proceed();
+		long elapsedNs = System.nanoTime() - startNs;
+		Object[] args = invocation.getArgs();
+		MappedStatement ms = (MappedStatement) args[0];
+		long rows = rowsOf(result);
+		MeterRegistry meterRegistry = this.registry;
+		if (meterRegistry != null) {
+			StatementMetrics metrics = getMetrics(meterRegistry, ms);
+			metrics.timer.record(elapsedNs, TimeUnit.NANOSECONDS);
+			metrics.rows.record(rows);
+		}
+		if (isLogged(elapsedNs) && !SqlLogUtil.isIgnore()) {
+			BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+			logSql(ms, boundSql, args[1], elapsedNs, rows);
+		}
+		return result;
+	}
+
+	private StatementMetrics getMetrics(MeterRegistry meterRegistry, MappedStatement ms) {
+		StatementMetrics metrics = statementMetrics.get(ms.getId());
+		if (metrics != null) {
+			return metrics;
+		}
+		// 限制语句数，避免指标无限增长
+		if (statementMetrics.size() >= properties.getMaxStatements()) {
+			return statementMetrics.computeIfAbsent(OTHER_STATEMENT,
+				id -> new StatementMetrics(meterRegistry, id, OTHER_STATEMENT, properties.isHistogram()));
+		}
+		return statementMetrics.computeIfAbsent(ms.getId(),
+			id -> new StatementMetrics(meterRegistry, id, ms.getSqlCommandType().name(), properties.isHistogram()));
+	}
+
+	private boolean isLogged(long elapsedNs) {
+		if (elapsedNs >= properties.getSlowThreshold().toNanos()) {
+			return true;
+		}
+		double sampleRate = properties.getSampleRate();
+		return sampleRate > 0D && ThreadLocalRandom.current().nextDouble() < sampleRate;
+	}
+
+	private static long rowsOf(Object result) {
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof Number number) {
+			return number.longValue();
+		}
+		return result == null ? 0L : 1L;
+	}
+
+	private void logSql(MappedStatement ms, BoundSql boundSql, Object parameter, long elapsedNs, long rows) {
+		String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNs);
+		if (elapsedNs >= properties.getSlowThreshold().toNanos()) {
+			log.warn("Slow sql: {} ({} ms, {} rows)\n{}\nParameters: {}", ms.getId(), elapsedMs, rows, sql, getParameters(ms, boundSql, parameter));
+		} else {
+			log.info("Sampled sql: {} ({} ms, {} rows)\n{}\nParameters: {}", ms.getId(), elapsedMs, rows, sql, getParameters(ms, boundSql, parameter));
+		}
+	}
+
+	/**
+	 * 参照 DefaultParameterHandler 解析参数值
+	 */
+	private static List<Object> getParameters(MappedStatement ms, BoundSql boundSql, Object parameter) {
+		List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+		List<Object> parameters = new ArrayList<>(parameterMappings.size());
+		Configuration configuration = ms.getConfiguration();
+		MetaObject metaObject = null;
+		for (ParameterMapping parameterMapping : parameterMappings) {
+			if (parameterMapping.getMode() == ParameterMode.OUT) {
+				continue;
+			}
+			String property = parameterMapping.getProperty();
+			Object value;
+			if (boundSql.hasAdditionalParameter(property)) {
+				value = boundSql.getAdditionalParameter(property);
+			} else if (parameter == null) {
+				value = null;
+			} else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+				value = parameter;
+			} else {
+				if (metaObject == null) {
+					metaObject = configuration.newMetaObject(parameter);
+				}
+				value = metaObject.getValue(property);
+			}
+			parameters.add(value);
+		}
+		return parameters;
+	}
+
+	/**
+	 * 单条语句的指标
+	 */
+	private static final class StatementMetrics {
+		private final Timer timer;
+		private final DistributionSummary rows;
+
+		StatementMetrics(MeterRegistry registry, String statement, String command, boolean histogram) {
+			this.timer = Timer.builder("blade.sql")
+				.tag("statement", statement)
+				.tag("command", command)
+				.publishPercentileHistogram(histogram)
+				.description("sql execution time")
+				.register(registry);
+			this.rows = DistributionSummary.builder("blade.sql.rows")
+				.tag("statement", statement)
+				.tag("command", command)
+				.description("sql returned or affected rows")
+				.register(registry);
+		}
+	}
+
+}
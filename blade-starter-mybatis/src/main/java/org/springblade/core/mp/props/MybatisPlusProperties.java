@@ -18,6 +18,7 @@ package org.springblade.core.mp.props;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -50,4 +51,54 @@ public class MybatisPlusProperties {
 	 */
 	private List<String> sqlLogExclude = new ArrayList<>();
 
+	/**
+	 * sql 统计配置
+	 */
+	private SqlMetrics sqlMetrics = new SqlMetrics();
+
+	/**
+	 * 批量写入配置
+	 */
+	private Batch batch = new Batch();
+
+	@Data
+	public static class Batch {
+		/**
+		 * 多行 insert 每条语句的行数
+		 */
+		private int insertSize = 500;
+		/**
+		 * 多行 insert 并行度，仅在无事务时生效
+		 */
+		private int parallelism = 1;
+		/**
+		 * 多行 insert 并行写入线程池的队列长度，队列满时由调用线程执行
+		 */
+		private int queueCapacity = 64;
+	}
+
+	@Data
+	public static class SqlMetrics {
+		/**
+		 * 是否开启 sql 统计
+		 */
+		private boolean enabled = true;
+		/**
+		 * 慢 sql 阈值，超过后打印 sql 日志
+		 */
+		private Duration slowThreshold = Duration.ofSeconds(1);
+		/**
+		 * 未超过阈值的 sql 日志采样率，0 表示不打印
+		 */
+		private double sampleRate = 0D;
+		/**
+		 * 是否发布耗时直方图
+		 */
+		private boolean histogram = false;
+		/**
+		 * 最大统计语句数，超出后归入 other
+		 */
+		private int maxStatements = 1000;
+	}
+
 }
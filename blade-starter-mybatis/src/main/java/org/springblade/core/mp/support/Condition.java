@@ -18,13 +18,31 @@ package org.springblade.core.mp.support;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springblade.core.launch.constant.TokenConstant;
+import org.springblade.core.tool.jackson.JsonUtil;
 import org.springblade.core.tool.support.Kv;
 import org.springblade.core.tool.utils.BeanUtil;
 import org.springblade.core.tool.utils.Func;
 import org.springblade.core.tool.utils.StringUtil;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,6 +52,18 @@ import java.util.Map;
  */
 public class Condition {
 
+	/**
+	 * 游标中的时间格式，保留完整的秒以下精度，无小数部分时与 yyyy-MM-dd HH:mm:ss 相同
+	 */
+	private static final DateTimeFormatter CURSOR_TIME = new DateTimeFormatterBuilder()
+		.appendPattern("HH:mm:ss")
+		.appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+		.toFormatter();
+	private static final DateTimeFormatter CURSOR_DATETIME = new DateTimeFormatterBuilder()
+		.appendPattern("yyyy-MM-dd ")
+		.append(CURSOR_TIME)
+		.toFormatter();
+
 	/**
 	 * 转化成mybatis plus中的Page
 	 *
@@ -42,15 +72,205 @@ public class Condition {
 	 */
 	public static <T> IPage<T> getPage(Query query) {
 		Page<T> page = new Page<>(Func.toInt(query.getCurrent(), 1), Func.toInt(query.getSize(), 10));
+		page.addOrder(getOrders(query));
+		if (query.getSearchCount() != null) {
+			page.setSearchCount(query.getSearchCount());
+		}
+		return page;
+	}
+
+	/**
+	 * 转化成按游标分页的mybatis plus中的Page
+	 * <p>
+	 * 排序字段 ascs/descs 追加主键作为唯一排序后，转为游标条件追加到 queryWrapper，始终查询第一页，
+	 * 深分页耗时不随页码增长。默认不查询总数，可通过 searchCount 开启。排序字段的值不能为 null。
+	 *
+	 * @param query        查询条件
+	 * @param queryWrapper 查询包装类
+	 * @param clazz        实体类
+	 * @return IPage
+	 */
+	public static <T> IPage<T> getKeysetPage(Query query, QueryWrapper<T> queryWrapper, Class<T> clazz) {
+		List<OrderItem> orders = getKeysetOrders(query, clazz);
+		Page<T> page = new Page<>(1, Func.toInt(query.getSize(), 10), Func.toBoolean(query.getSearchCount(), false));
+		page.addOrder(orders);
+		if (StringUtil.isBlank(query.getCursor())) {
+			return page;
+		}
+		List<Object> values = decodeCursor(query.getCursor(), orders, clazz);
+		queryWrapper.and(wrapper -> {
+			for (int i = 0; i < orders.size(); i++) {
+				if (i > 0) {
+					wrapper.or();
+				}
+				final int last = i;
+				wrapper.nested(seek -> {
+					for (int j = 0; j < last; j++) {
+						seek.eq(orders.get(j).getColumn(), values.get(j));
+					}
+					OrderItem order = orders.get(last);
+					if (order.isAsc()) {
+						seek.gt(order.getColumn(), values.get(last));
+					} else {
+						seek.lt(order.getColumn(), values.get(last));
+					}
+				});
+			}
+		});
+		return page;
+	}
+
+	/**
+	 * 根据当前页最后一条记录生成下一页的游标
+	 *
+	 * @param query  查询条件
+	 * @param record 当前页最后一条记录，支持实体与 Map
+	 * @param clazz  实体类
+	 * @return 游标
+	 */
+	public static String getCursor(Query query, Object record, Class<?> clazz) {
+		List<OrderItem> orders = getKeysetOrders(query, clazz);
+		TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
+		List<Object> values = new ArrayList<>(orders.size());
+		for (OrderItem order : orders) {
+			String property = getProperty(tableInfo, order.getColumn());
+			Object value;
+			if (record instanceof Map<?, ?> map) {
+				value = map.containsKey(order.getColumn()) ? map.get(order.getColumn()) : map.get(property);
+			} else {
+				value = BeanUtil.getProperty(record, property);
+			}
+			values.add(encodeCursorValue(value));
+		}
+		byte[] json = JsonUtil.toJsonAsBytes(values);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+	}
+
+	/**
+	 * 排序字段
+	 */
+	private static List<OrderItem> getOrders(Query query) {
+		List<OrderItem> orders = new ArrayList<>();
 		String[] ascArr = Func.toStrArray(query.getAscs());
 		for (String asc : ascArr) {
-			page.addOrder(OrderItem.asc(StringUtil.cleanIdentifier(asc)));
+			orders.add(OrderItem.asc(StringUtil.cleanIdentifier(asc)));
 		}
 		String[] descArr = Func.toStrArray(query.getDescs());
 		for (String desc : descArr) {
-			page.addOrder(OrderItem.desc(StringUtil.cleanIdentifier(desc)));
+			orders.add(OrderItem.desc(StringUtil.cleanIdentifier(desc)));
 		}
-		return page;
+		return orders;
+	}
+
+	/**
+	 * 游标分页排序字段，末尾追加主键保证排序唯一
+	 */
+	private static List<OrderItem> getKeysetOrders(Query query, Class<?> clazz) {
+		List<OrderItem> orders = getOrders(query);
+		TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
+		if (tableInfo != null && tableInfo.getKeyColumn() != null
+			&& orders.stream().noneMatch(order -> tableInfo.getKeyColumn().equalsIgnoreCase(order.getColumn()))) {
+			boolean asc = orders.isEmpty() || orders.get(orders.size() - 1).isAsc();
+			orders.add(asc ? OrderItem.asc(tableInfo.getKeyColumn()) : OrderItem.desc(tableInfo.getKeyColumn()));
+		}
+		if (orders.isEmpty()) {
+			throw new IllegalArgumentException("游标分页需要指定排序字段");
+		}
+		return orders;
+	}
+
+	/**
+	 * 解析游标，并将值转换为字段类型
+	 */
+	private static List<Object> decodeCursor(String cursor, List<OrderItem> orders, Class<?> clazz) {
+		JsonNode nodes;
+		try {
+			nodes = JsonUtil.readTree(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (RuntimeException e) {
+			// base64 或 json 格式错误
+			nodes = null;
+		}
+		if (nodes == null || !nodes.isArray() || nodes.size() != orders.size()) {
+			throw new IllegalArgumentException("无效的分页游标");
+		}
+		TableInfo tableInfo = TableInfoHelper.getTableInfo(clazz);
+		List<Object> values = new ArrayList<>(orders.size());
+		for (int i = 0; i < orders.size(); i++) {
+			JsonNode node = nodes.get(i);
+			if (node == null || node.isNull()) {
+				throw new IllegalArgumentException("无效的分页游标");
+			}
+			try {
+				values.add(decodeCursorValue(node, getPropertyType(tableInfo, orders.get(i).getColumn())));
+			} catch (DateTimeParseException e) {
+				throw new IllegalArgumentException("无效的分页游标", e);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * JsonUtil 的时间格式只精确到秒，游标中的时间按完整精度写入，避免同一秒内的记录重复或丢失
+	 */
+	private static Object encodeCursorValue(Object value) {
+		// java.sql.Date 与 java.sql.Time 不支持 toInstant，按 JsonUtil 的格式写入即可
+		if (value instanceof java.sql.Date || value instanceof java.sql.Time) {
+			return value;
+		}
+		if (value instanceof Date date) {
+			return CURSOR_DATETIME.format(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+		}
+		if (value instanceof LocalDateTime dateTime) {
+			return CURSOR_DATETIME.format(dateTime);
+		}
+		if (value instanceof LocalTime time) {
+			return CURSOR_TIME.format(time);
+		}
+		return value;
+	}
+
+	private static Object decodeCursorValue(JsonNode node, Class<?> type) {
+		if (LocalDateTime.class == type) {
+			return LocalDateTime.parse(node.asText(), CURSOR_DATETIME);
+		}
+		if (LocalTime.class == type) {
+			return LocalTime.parse(node.asText(), CURSOR_TIME);
+		}
+		if (Timestamp.class == type) {
+			return Timestamp.valueOf(LocalDateTime.parse(node.asText(), CURSOR_DATETIME));
+		}
+		if (Date.class == type) {
+			return Date.from(LocalDateTime.parse(node.asText(), CURSOR_DATETIME).atZone(ZoneId.systemDefault()).toInstant());
+		}
+		return JsonUtil.convertValue(node, type);
+	}
+
+	private static String getProperty(TableInfo tableInfo, String column) {
+		if (tableInfo == null) {
+			return StringUtil.underlineToHump(column);
+		}
+		if (column.equalsIgnoreCase(tableInfo.getKeyColumn())) {
+			return tableInfo.getKeyProperty();
+		}
+		return tableInfo.getFieldList().stream()
+			.filter(field -> column.equalsIgnoreCase(field.getColumn()))
+			.map(TableFieldInfo::getProperty)
+			.findFirst()
+			.orElse(StringUtil.underlineToHump(column));
+	}
+
+	private static Class<?> getPropertyType(TableInfo tableInfo, String column) {
+		if (tableInfo == null) {
+			return Object.class;
+		}
+		if (column.equalsIgnoreCase(tableInfo.getKeyColumn())) {
+			return tableInfo.getKeyType();
+		}
+		return tableInfo.getFieldList().stream()
+			.filter(field -> column.equalsIgnoreCase(field.getColumn()))
+			.<Class<?>>map(TableFieldInfo::getPropertyType)
+			.findFirst()
+			.orElse(Object.class);
 	}
 
 	/**
@@ -74,7 +294,8 @@ public class Condition {
 	 */
 	public static <T> QueryWrapper<T> getQueryWrapper(Map<String, Object> query, Class<T> clazz) {
 		Kv exclude = Kv.init().set(TokenConstant.HEADER, TokenConstant.HEADER)
-			.set("current", "current").set("size", "size").set("ascs", "ascs").set("descs", "descs");
+			.set("current", "current").set("size", "size").set("ascs", "ascs").set("descs", "descs")
+			.set("cursor", "cursor").set("searchCount", "searchCount");
 		return getQueryWrapper(query, exclude, clazz);
 	}
 
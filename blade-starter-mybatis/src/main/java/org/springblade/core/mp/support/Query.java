@@ -55,4 +55,16 @@ public class Query {
 	@Schema(accessMode = READ_ONLY)
 	private String descs;
 
+	/**
+	 * 游标，传入后按游标分页
+	 */
+	@Schema(description = "游标，传入后按游标分页")
+	private String cursor;
+
+	/**
+	 * 是否查询总数
+	 */
+	@Schema(description = "是否查询总数")
+	private Boolean searchCount;
+
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.mp.support;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * 游标分页测试
+ *
+ * @author Chill
+ */
+class ConditionTest {
+
+	private static final LocalDateTime SECOND = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
+
+	@BeforeAll
+	static void initTableInfo() {
+		MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+		assistant.setCurrentNamespace(CursorRow.class.getName());
+		TableInfoHelper.initTableInfo(assistant, CursorRow.class);
+	}
+
+	/**
+	 * 同一秒内的多条记录按 LocalDateTime 升序翻页，不重复也不遗漏
+	 */
+	@Test
+	void pagesLocalDateTimeWithinOneSecond() {
+		List<CursorRow> rows = rows();
+		rows.sort(Comparator.comparing(CursorRow::getCreateTime).thenComparing(CursorRow::getId));
+		List<Long> paged = page(rows, new Query().setAscs("create_time"), (row, cursor) -> {
+			LocalDateTime time = (LocalDateTime) cursor.get("MPGENVAL1");
+			Long id = (Long) cursor.get("MPGENVAL3");
+			return row.getCreateTime().isAfter(time) || (row.getCreateTime().isEqual(time) && row.getId() > id);
+		});
+		assertThat(paged).containsExactlyElementsOf(rows.stream().map(CursorRow::getId).toList());
+	}
+
+	/**
+	 * 同一秒内的多条记录按 Date 降序翻页，不重复也不遗漏
+	 */
+	@Test
+	void pagesDateDescendingWithinOneSecond() {
+		List<CursorRow> rows = rows();
+		rows.sort(Comparator.comparing(CursorRow::getUpdateTime).thenComparing(CursorRow::getId).reversed());
+		List<Long> paged = page(rows, new Query().setDescs("update_time"), (row, cursor) -> {
+			Date time = (Date) cursor.get("MPGENVAL1");
+			Long id = (Long) cursor.get("MPGENVAL3");
+			return row.getUpdateTime().before(time) || (row.getUpdateTime().equals(time) && row.getId() < id);
+		});
+		assertThat(paged).containsExactlyElementsOf(rows.stream().map(CursorRow::getId).toList());
+	}
+
+	/**
+	 * 按游标条件在内存中模拟逐页查询
+	 */
+	private static List<Long> page(List<CursorRow> sorted, Query query, BiPredicate<CursorRow, Map<String, Object>> seek) {
+		List<Long> paged = new ArrayList<>();
+		query.setSize(2);
+		// 游标不前进时避免死循环
+		for (int i = 0; i <= sorted.size(); i++) {
+			QueryWrapper<CursorRow> wrapper = new QueryWrapper<>();
+			Condition.getKeysetPage(query, wrapper, CursorRow.class);
+			// 生成 sql 片段时才会写入参数
+			assertThat(wrapper.getSqlSegment()).isNotNull();
+			Map<String, Object> cursor = wrapper.getParamNameValuePairs();
+			List<CursorRow> page = sorted.stream()
+				.filter(row -> query.getCursor() == null || seek.test(row, cursor))
+				.limit(query.getSize())
+				.toList();
+			if (page.isEmpty()) {
+				return paged;
+			}
+			page.forEach(row -> paged.add(row.getId()));
+			query.setCursor(Condition.getCursor(query, page.get(page.size() - 1), CursorRow.class));
+		}
+		return fail("游标分页未结束，已读取 " + paged);
+	}
+
+	private static List<CursorRow> rows() {
+		int[] millis = {5, 5, 120, 120, 121, 500, 999};
+		List<CursorRow> rows = new ArrayList<>();
+		for (int i = 0; i < millis.length; i++) {
+			LocalDateTime time = SECOND.plusNanos(millis[i] * 1_000_000L);
+			rows.add(new CursorRow((long) (i + 1), time, Date.from(time.atZone(ZoneId.systemDefault()).toInstant())));
+		}
+		return rows;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@TableName("blade_cursor_row")
+	public static class CursorRow {
+		@TableId
+		private Long id;
+		private LocalDateTime createTime;
+		private Date updateTime;
+	}
+
+}
@@ -16,18 +16,26 @@
 
 package org.springblade.core.redis.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springblade.core.tool.utils.CollectionUtil;
+import org.springblade.core.tool.utils.Exceptions;
 import org.springblade.core.tool.utils.NumberUtil;
+import org.springblade.core.tool.utils.StringUtil;
 import org.springframework.data.redis.connection.RedisKeyCommands;
 import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -38,6 +46,7 @@ import java.util.function.Supplier;
  *
  * @author L.cm
  */
+@Slf4j
 @Getter
 @SuppressWarnings("unchecked")
 public class BladeRedis {
@@ -48,6 +57,27 @@ public class BladeRedis {
 	private final ListOperations<String, Object> listOps; // 列表操作接口
 	private final SetOperations<String, Object> setOps; // 集合操作接口
 	private final ZSetOperations<String, Object> zSetOps; // 有序集合操作接口
+	private final ConcurrentMap<String, CompletableFuture<Object>> loadingMap = new ConcurrentHashMap<>(); // 正在加载中的 key
+	private final Cache<String, Long> loadTimeCache = CacheBuilder.newBuilder().maximumSize(10000).build(); // key 最近一次的加载耗时（毫秒）
+	private final Executor refreshExecutor; // 提前刷新使用的线程池
+
+	/**
+	 * 防击穿锁的后缀
+	 */
+	private static final String LOAD_LOCK_SUFFIX = ":load-lock";
+	/**
+	 * 未统计到加载耗时时，提前刷新使用的默认耗时（毫秒）
+	 */
+	private static final long DEFAULT_LOAD_MILLIS = 100L;
+	/**
+	 * 等待其他节点加载时的轮询间隔（毫秒）
+	 */
+	private static final long LOCK_WAIT_MILLIS = 50L;
+	/**
+	 * 仅删除自己持有的锁
+	 */
+	private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+		"if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
 
 	/**
 	 * 构造函数，初始化 Redis 操作模板和相关操作接口
@@ -56,7 +86,19 @@ public class BladeRedis {
 	 * @param stringRedisTemplate 字符串专用的 Redis 操作模板
 	 */
 	public BladeRedis(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate) {
+		this(redisTemplate, stringRedisTemplate, newRefreshExecutor(2, 1000));
+	}
+
+	/**
+	 * 构造函数，初始化 Redis 操作模板和相关操作接口
+	 *
+	 * @param redisTemplate       Redis 操作模板
+	 * @param stringRedisTemplate 字符串专用的 Redis 操作模板
+	 * @param refreshExecutor     提前刷新使用的线程池，需自行传递请求上下文
+	 */
+	public BladeRedis(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate, Executor refreshExecutor) {
 		this.redisTemplate = redisTemplate;
+		this.refreshExecutor = refreshExecutor;
 		this.stringRedisTemplate = stringRedisTemplate;
 		Assert.notNull(redisTemplate, "redisTemplate is null"); // 检查 redisTemplate 是否为空
 		valueOps = redisTemplate.opsForValue(); // 初始化字符串操作接口
@@ -225,6 +267,189 @@ public class BladeRedis {
 		return value;
 	}
 
+	/**
+	 * 获取缓存值，缓存不存在时合并本 JVM 内对同一 key 的并发加载，防止缓存击穿
+	 *
+	 * @param cacheKey 缓存键
+	 * @param loader   加载器
+	 * @param <T>      返回值类型
+	 * @return 值
+	 */
+	@Nullable
+	public <T> T getOrLoad(CacheKey cacheKey, Supplier<T> loader) {
+		return getOrLoad(cacheKey, loader, null, 0D);
+	}
+
+	/**
+	 * 获取缓存值，缓存不存在时合并并发加载，防止缓存击穿
+	 *
+	 * <p>
+	 * 本 JVM 内对同一 key 只会有一个线程执行加载器，其余线程等待其结果；
+	 * 设置 lockTimeout 时，会再通过 redis 锁保证多节点间同一时间只有一个节点加载，
+	 * 未拿到锁的节点在 lockTimeout 内轮询等待缓存写入，超时后自行加载；
+	 * 设置 beta 且缓存键有过期时间时，会按照 XFetch 算法在过期前以一定概率在后台提前刷新，
+	 * beta 越大越早刷新，一般取 1.0。
+	 * </p>
+	 *
+	 * @param cacheKey    缓存键
+	 * @param loader      加载器
+	 * @param lockTimeout 分布式锁超时时间，为空时不使用分布式锁
+	 * @param beta        提前刷新系数，小于等于 0 时不提前刷新
+	 * @param <T>         返回值类型
+	 * @return 值
+	 */
+	@Nullable
+	public <T> T getOrLoad(CacheKey cacheKey, Supplier<T> loader, @Nullable Duration lockTimeout, double beta) {
+		String key = cacheKey.getKey();
+		boolean earlyRefresh = beta > 0 && cacheKey.getExpire() != null;
+		T value;
+		if (earlyRefresh) {
+			// 使用 pipeline 一次性取回值和剩余过期时间
+			List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) redis -> {
+				byte[] rawKey = keySerialize(key);
+				redis.stringCommands().get(rawKey);
+				redis.keyCommands().pTtl(rawKey);
+				return null;
+			});
+			value = (T) results.get(0);
+			if (value != null) {
+				Long pttl = (Long) results.get(1);
+				if (shouldRefreshEarly(key, pttl, beta)) {
+					long stalePttl = pttl;
+					CompletableFuture.runAsync(() -> singleFlight(key, () -> load(cacheKey, loader, lockTimeout, stalePttl)), refreshExecutor)
+						.whenComplete((result, e) -> {
+							if (e != null) {
+								log.warn("redis key {} early refresh failed", key, e);
+							}
+						});
+				}
+				return value;
+			}
+		} else {
+			value = this.get(key);
+			if (value != null) {
+				return value;
+			}
+		}
+		return singleFlight(key, () -> {
+			// 等待期间可能已被其他线程写入
+			T cached = this.get(key);
+			return cached != null ? cached : load(cacheKey, loader, lockTimeout, -1L);
+		});
+	}
+
+	/**
+	 * 同一 key 的并发调用只执行一次，其余调用共享结果
+	 */
+	private <T> T singleFlight(String key, Supplier<T> action) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> loading = loadingMap.putIfAbsent(key, future);
+		if (loading != null) {
+			try {
+				return (T) loading.join();
+			} catch (CompletionException e) {
+				throw Exceptions.unchecked(e.getCause());
+			}
+		}
+		try {
+			T value = action.get();
+			future.complete(value);
+			return value;
+		} catch (Throwable e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			loadingMap.remove(key, future);
+		}
+	}
+
+	/**
+	 * 创建提前刷新使用的有界线程池，队列满时放弃本次刷新
+	 *
+	 * @param threads       线程数
+	 * @param queueCapacity 队列容量
+	 * @return Executor
+	 */
+	public static Executor newRefreshExecutor(int threads, int queueCapacity) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+			new ThreadFactoryBuilder().setNameFormat("blade-redis-refresh-%d").setDaemon(true).build(),
+			(task, pool) -> log.debug("redis early refresh queue is full, skip refresh"));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * 执行加载器并写入缓存，按需持有分布式锁
+	 *
+	 * @param stalePttl 提前刷新时触发刷新的剩余过期时间（毫秒），缓存不存在时为 -1
+	 */
+	private <T> T load(CacheKey cacheKey, Supplier<T> loader, @Nullable Duration lockTimeout, long stalePttl) {
+		if (lockTimeout == null) {
+			return loadAndSet(cacheKey, loader);
+		}
+		String lockKey = cacheKey.getKey() + LOAD_LOCK_SUFFIX;
+		String lockValue = StringUtil.randomUUID();
+		long deadline = System.currentTimeMillis() + lockTimeout.toMillis();
+		while (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, lockValue, lockTimeout))) {
+			// 其他节点正在加载，等待其写入缓存
+			T cached = this.get(cacheKey.getKey());
+			if (cached != null) {
+				return cached;
+			}
+			if (System.currentTimeMillis() >= deadline) {
+				return loadAndSet(cacheKey, loader);
+			}
+			try {
+				TimeUnit.MILLISECONDS.sleep(LOCK_WAIT_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw Exceptions.unchecked(e);
+			}
+		}
+		try {
+			// 拿到锁前其他节点可能已完成加载
+			T cached = loadedByOthers(cacheKey.getKey(), stalePttl);
+			return cached != null ? cached : loadAndSet(cacheKey, loader);
+		} finally {
+			stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey), lockValue);
+		}
+	}
+
+	/**
+	 * 获取其他节点已加载的值：缓存不存在时判断值是否已写入，提前刷新时判断过期时间是否已被重置
+	 */
+	@Nullable
+	private <T> T loadedByOthers(String key, long stalePttl) {
+		if (stalePttl < 0) {
+			return this.get(key);
+		}
+		Long pttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+		return pttl != null && pttl > stalePttl ? this.get(key) : null;
+	}
+
+	private <T> T loadAndSet(CacheKey cacheKey, Supplier<T> loader) {
+		long start = System.currentTimeMillis();
+		T value = loader.get();
+		loadTimeCache.put(cacheKey.getKey(), System.currentTimeMillis() - start);
+		if (value != null) {
+			this.set(cacheKey, value);
+		}
+		return value;
+	}
+
+	/**
+	 * XFetch: -delta * beta * ln(random) >= ttl 时提前刷新
+	 */
+	private boolean shouldRefreshEarly(String key, @Nullable Long pttl, double beta) {
+		// -1 永不过期，-2 不存在
+		if (pttl == null || pttl < 0) {
+			return false;
+		}
+		Long loadMillis = loadTimeCache.getIfPresent(key);
+		long delta = loadMillis == null ? DEFAULT_LOAD_MILLIS : Math.max(loadMillis, 1L);
+		return -delta * beta * Math.log(ThreadLocalRandom.current().nextDouble()) >= pttl;
+	}
+
 	/**
 	 * 获取 key 对应的值，并删除 key
 	 *
@@ -365,6 +590,37 @@ public class BladeRedis {
 		valueOps.multiSet(CollectionUtil.toMap(keysValues));
 	}
 
+	/**
+	 * 同时设置多个 key-value 对，并设置相同的过期时间，通过 pipeline 一次发送
+	 *
+	 * @param keysValues key-value 对
+	 * @param timeout    过期时间
+	 */
+	public void mSetEx(Map<String, Object> keysValues, Duration timeout) {
+		RedisBatch batch = batch();
+		keysValues.forEach((key, value) -> batch.setEx(key, value, timeout));
+		batch.execute();
+	}
+
+	/**
+	 * 创建批量命令，每批默认发送 {@link RedisBatch#DEFAULT_CHUNK_SIZE} 条命令
+	 *
+	 * @return RedisBatch
+	 */
+	public RedisBatch batch() {
+		return batch(RedisBatch.DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * 创建批量命令
+	 *
+	 * @param chunkSize 每批 pipeline 发送的命令数
+	 * @return RedisBatch
+	 */
+	public RedisBatch batch(int chunkSize) {
+		return new RedisBatch(this, chunkSize);
+	}
+
 	/**
 	 * 获取多个 key 对应的值
 	 *
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.redis.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 多级缓存, 本地一级缓存 + redis二级缓存
+ *
+ * <p>
+ * 一级缓存直接保存对象: 不可变的值（String、基本类型包装类、枚举、java.time 等）及 shared 缓存的值命中时原样返回;
+ * 其他值保存未压缩的序列化字节, 命中时反序列化出新的对象, 调用方修改返回值不会影响同节点的其他调用方。
+ * </p>
+ *
+ * @author Chill
+ */
+public class MultiLevelCache implements Cache {
+	/**
+	 * 空值占位
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	/**
+	 * 可直接共享的不可变类型
+	 */
+	private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+		String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+		Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class,
+		LocalDate.class, LocalDateTime.class, LocalTime.class, Instant.class
+	);
+
+	private final Cache delegate;
+	private final RedisSerializer<Object> serializer;
+	private final boolean shared;
+	private final com.google.common.cache.Cache<Object, Object> localCache;
+	private final MultiLevelCacheManager cacheManager;
+	/**
+	 * 失效代数, 每次本地失效递增, 用于丢弃失效期间加载的旧值
+	 */
+	private final AtomicLong generation = new AtomicLong();
+	private final LongAdder remoteHits = new LongAdder();
+	private final LongAdder remoteMisses = new LongAdder();
+
+	/**
+	 * @param delegate     二级缓存
+	 * @param serializer   复制可变对象使用的序列化, 不需要压缩
+	 * @param shared       是否直接共享缓存对象, 开启后调用方不能修改返回值
+	 * @param maximumSize  一级缓存最大数量
+	 * @param expire       一级缓存过期时间
+	 * @param cacheManager 多级缓存管理
+	 */
+	public MultiLevelCache(Cache delegate, RedisSerializer<Object> serializer, boolean shared,
+						   long maximumSize, Duration expire, MultiLevelCacheManager cacheManager) {
+		this.delegate = delegate;
+		this.serializer = serializer;
+		this.shared = shared;
+		this.cacheManager = cacheManager;
+		this.localCache = CacheBuilder.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(expire.toMillis(), TimeUnit.MILLISECONDS)
+			.recordStats()
+			.build();
+	}
+
+	@NonNull
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@NonNull
+	@Override
+	public Object getNativeCache() {
+		return delegate.getNativeCache();
+	}
+
+	/**
+	 * 获取二级缓存
+	 *
+	 * @return Cache
+	 */
+	public Cache getDelegate() {
+		return delegate;
+	}
+
+	@Nullable
+	@Override
+	public ValueWrapper get(@NonNull Object key) {
+		Object local = localCache.getIfPresent(key);
+		if (local != null) {
+			return new SimpleValueWrapper(fromLocal(local));
+		}
+		long gen = generation.get();
+		ValueWrapper wrapper = delegate.get(key);
+		if (wrapper == null) {
+			remoteMisses.increment();
+			return null;
+		}
+		remoteHits.increment();
+		putLocal(key, wrapper.get(), gen);
+		return wrapper;
+	}
+
+	@Nullable
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = wrapper == null ? null : wrapper.get();
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Nullable
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+		Object local = localCache.getIfPresent(key);
+		if (local != null) {
+			return (T) fromLocal(local);
+		}
+		long gen = generation.get();
+		// 二级缓存自身会处理并发加载
+		T value = delegate.get(key, valueLoader);
+		putLocal(key, value, gen);
+		return value;
+	}
+
+	@Nullable
+	@Override
+	public CompletableFuture<?> retrieve(@NonNull Object key) {
+		Object local = localCache.getIfPresent(key);
+		if (local != null) {
+			return CompletableFuture.completedFuture(new SimpleValueWrapper(fromLocal(local)));
+		}
+		long gen = generation.get();
+		CompletableFuture<?> future = delegate.retrieve(key);
+		if (future == null) {
+			return null;
+		}
+		return future.thenApply(result -> {
+			if (result == null) {
+				remoteMisses.increment();
+				return null;
+			}
+			remoteHits.increment();
+			putLocal(key, result instanceof ValueWrapper wrapper ? wrapper.get() : result, gen);
+			return result;
+		});
+	}
+
+	@NonNull
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+		Object local = localCache.getIfPresent(key);
+		if (local != null) {
+			return CompletableFuture.completedFuture((T) fromLocal(local));
+		}
+		long gen = generation.get();
+		return delegate.retrieve(key, valueLoader).thenApply(value -> {
+			putLocal(key, value, gen);
+			return value;
+		});
+	}
+
+	@Override
+	public void put(@NonNull Object key, @Nullable Object value) {
+		delegate.put(key, value);
+		putLocal(key, value, generation.get());
+		cacheManager.publishEvict(getName(), key);
+	}
+
+	@Nullable
+	@Override
+	public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+		ValueWrapper existing = delegate.putIfAbsent(key, value);
+		evictLocal(key);
+		cacheManager.publishEvict(getName(), key);
+		return existing;
+	}
+
+	@Override
+	public void evict(@NonNull Object key) {
+		delegate.evict(key);
+		evictLocal(key);
+		cacheManager.publishEvict(getName(), key);
+	}
+
+	@Override
+	public boolean evictIfPresent(@NonNull Object key) {
+		boolean present = delegate.evictIfPresent(key);
+		evictLocal(key);
+		cacheManager.publishEvict(getName(), key);
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		delegate.clear();
+		evictLocal(null);
+		cacheManager.publishEvict(getName(), null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = delegate.invalidate();
+		evictLocal(null);
+		cacheManager.publishEvict(getName(), null);
+		return invalidated;
+	}
+
+	/**
+	 * 仅清除本地一级缓存, 本地失效及其他节点发来的失效消息共用
+	 *
+	 * @param key 缓存键, 为空时清空
+	 */
+	void evictLocal(@Nullable Object key) {
+		// 先递增代数再失效, 保证失效前开始的加载不会写回旧值
+		generation.incrementAndGet();
+		if (key == null) {
+			localCache.invalidateAll();
+		} else {
+			localCache.invalidate(key);
+		}
+	}
+
+	/**
+	 * 写入一级缓存, 写入期间发生过失效则丢弃
+	 *
+	 * @param key   缓存键
+	 * @param value 缓存值
+	 * @param gen   加载前的失效代数
+	 */
+	private void putLocal(Object key, @Nullable Object value, long gen) {
+		if (generation.get() != gen) {
+			return;
+		}
+		localCache.put(key, toLocal(value));
+		// put 与失效并发时再检查一次, 避免旧值残留
+		if (generation.get() != gen) {
+			localCache.invalidate(key);
+		}
+	}
+
+	private Object toLocal(@Nullable Object value) {
+		if (value == null) {
+			return NULL_VALUE;
+		}
+		if (shared || isImmutable(value)) {
+			return value;
+		}
+		return new LocalBytes(serializer.serialize(value));
+	}
+
+	@Nullable
+	private Object fromLocal(Object local) {
+		if (local == NULL_VALUE) {
+			return null;
+		}
+		if (local instanceof LocalBytes bytes) {
+			return serializer.deserialize(bytes.value());
+		}
+		return local;
+	}
+
+	private static boolean isImmutable(Object value) {
+		return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum;
+	}
+
+	/**
+	 * 可变对象的序列化副本
+	 *
+	 * @param value 序列化字节
+	 */
+	private record LocalBytes(byte[] value) {
+	}
+
+	/**
+	 * 一级缓存统计
+	 *
+	 * @return CacheStats
+	 */
+	public CacheStats getLocalStats() {
+		return localCache.stats();
+	}
+
+	/**
+	 * 一级缓存数量
+	 *
+	 * @return size
+	 */
+	public long getLocalSize() {
+		return localCache.size();
+	}
+
+	/**
+	 * 二级缓存命中数
+	 *
+	 * @return hits
+	 */
+	public long getRemoteHitCount() {
+		return remoteHits.sum();
+	}
+
+	/**
+	 * 二级缓存未命中数
+	 *
+	 * @return misses
+	 */
+	public long getRemoteMissCount() {
+		return remoteMisses.sum();
+	}
+
+	/**
+	 * 二级缓存命中率
+	 *
+	 * @return hitRate
+	 */
+	public double getRemoteHitRate() {
+		long hits = remoteHits.sum();
+		long total = hits + remoteMisses.sum();
+		return total == 0 ? 1.0D : (double) hits / total;
+	}
+
+}
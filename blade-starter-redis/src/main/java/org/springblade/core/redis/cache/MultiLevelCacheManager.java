@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.redis.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.redis.config.RedisAutoCacheManager;
+import org.springblade.core.redis.props.BladeRedisProperties;
+import org.springblade.core.redis.pubsub.RPubSubEvent;
+import org.springblade.core.redis.pubsub.RPubSubListener;
+import org.springblade.core.redis.pubsub.RPubSubPublisher;
+import org.springblade.core.redis.serializer.CompressRedisSerializer;
+import org.springblade.core.tool.utils.StringUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 多级缓存管理, 在 redis cache 前增加本地一级缓存，节点间通过 redis pub/sub 失效
+ *
+ * @author Chill
+ */
+@Slf4j
+public class MultiLevelCacheManager extends RedisAutoCacheManager {
+	/**
+	 * 缓存失效通知 channel
+	 */
+	public static final String EVICT_CHANNEL = "blade:cache:multi-level:evict";
+
+	private final String nodeId = StringUtil.randomUUID();
+	private final BladeRedisProperties.MultiLevel properties;
+	private final RedisSerializer<Object> serializer;
+	private final ObjectProvider<RPubSubPublisher> publisherProvider;
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+	public MultiLevelCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+								  Map<String, RedisCacheConfiguration> initialCacheConfigurations, boolean allowInFlightCacheCreation,
+								  BladeRedisProperties.MultiLevel properties,
+								  RedisSerializer<Object> serializer,
+								  ObjectProvider<RPubSubPublisher> publisherProvider,
+								  ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, allowInFlightCacheCreation);
+		this.properties = properties;
+		// 一级缓存中的副本只在本节点内存中, 无需压缩
+		this.serializer = serializer instanceof CompressRedisSerializer compressRedisSerializer ? compressRedisSerializer.getDelegate() : serializer;
+		this.publisherProvider = publisherProvider;
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	@NonNull
+	@Override
+	protected Cache decorateCache(@NonNull Cache cache) {
+		Cache decorated = super.decorateCache(cache);
+		if (!(cache instanceof RedisCache redisCache)) {
+			return decorated;
+		}
+		// 一级缓存不能比二级缓存存活更久
+		RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+		Duration expire = properties.getExpire();
+		Duration ttl = configuration.getTtlFunction().getTimeToLive(Object.class, null);
+		if (ttl != null && !ttl.isZero() && !ttl.isNegative() && ttl.compareTo(expire) < 0) {
+			expire = ttl;
+		}
+		boolean shared = properties.getSharedCacheNames().contains(cache.getName());
+		MultiLevelCache multiLevelCache = new MultiLevelCache(decorated, serializer, shared, properties.getMaximumSize(), expire, this);
+		bindMetrics(multiLevelCache);
+		return multiLevelCache;
+	}
+
+	@NonNull
+	@Override
+	public Map<String, RedisCacheConfiguration> getCacheConfigurations() {
+		Map<String, RedisCacheConfiguration> configurationMap = new HashMap<>(getCacheNames().size());
+		getCacheNames().forEach(name -> {
+			Cache cache = lookupCache(name);
+			if (cache instanceof MultiLevelCache multiLevelCache) {
+				cache = multiLevelCache.getDelegate();
+			}
+			if (cache instanceof RedisCache redisCache) {
+				configurationMap.put(name, redisCache.getCacheConfiguration());
+			}
+		});
+		return configurationMap;
+	}
+
+	/**
+	 * 通知其他节点失效一级缓存
+	 *
+	 * @param cacheName 缓存名
+	 * @param key       缓存键, 为空时清空
+	 */
+	void publishEvict(String cacheName, @Nullable Object key) {
+		RPubSubPublisher publisher = publisherProvider.getIfAvailable();
+		if (publisher == null) {
+			return;
+		}
+		try {
+			publisher.publish(EVICT_CHANNEL, new MultiLevelCacheMessage(nodeId, cacheName, key));
+		} catch (Exception e) {
+			log.error("Multi-level cache evict publish failed, cache:{} key:{}", cacheName, key, e);
+		}
+	}
+
+	/**
+	 * 接收其他节点的一级缓存失效消息
+	 *
+	 * @param event 失效消息
+	 */
+	@RPubSubListener(EVICT_CHANNEL)
+	public void onEvict(RPubSubEvent<MultiLevelCacheMessage> event) {
+		MultiLevelCacheMessage message = event.getMsg();
+		if (message == null || nodeId.equals(message.getNodeId())) {
+			return;
+		}
+		getCacheNames().forEach(name -> {
+			Cache cache = lookupCache(name);
+			if (cache instanceof MultiLevelCache multiLevelCache && multiLevelCache.getName().equals(message.getCacheName())) {
+				multiLevelCache.evictLocal(message.getKey());
+			}
+		});
+	}
+
+	private void bindMetrics(MultiLevelCache cache) {
+		MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+		if (registry == null) {
+			return;
+		}
+		String cacheName = cache.getName();
+		FunctionCounter.builder("blade.cache.multi-level.gets", cache, c -> c.getLocalStats().hitCount())
+			.tags("cache", cacheName, "level", "l1", "result", "hit").register(registry);
+		FunctionCounter.builder("blade.cache.multi-level.gets", cache, c -> c.getLocalStats().missCount())
+			.tags("cache", cacheName, "level", "l1", "result", "miss").register(registry);
+		FunctionCounter.builder("blade.cache.multi-level.gets", cache, MultiLevelCache::getRemoteHitCount)
+			.tags("cache", cacheName, "level", "l2", "result", "hit").register(registry);
+		FunctionCounter.builder("blade.cache.multi-level.gets", cache, MultiLevelCache::getRemoteMissCount)
+			.tags("cache", cacheName, "level", "l2", "result", "miss").register(registry);
+		Gauge.builder("blade.cache.multi-level.hit.ratio", cache, c -> c.getLocalStats().hitRate())
+			.tags("cache", cacheName, "level", "l1").register(registry);
+		Gauge.builder("blade.cache.multi-level.hit.ratio", cache, MultiLevelCache::getRemoteHitRate)
+			.tags("cache", cacheName, "level", "l2").register(registry);
+		Gauge.builder("blade.cache.multi-level.size", cache, MultiLevelCache::getLocalSize)
+			.tags("cache", cacheName).register(registry);
+	}
+
+}
@@ -0,0 +1,342 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.redis.cache;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Redis 批量命令，命令排队后通过 pipeline 一次性发送
+ *
+ * <p>
+ * 使用示例：
+ * <pre>
+ * List&lt;Object&gt; results = bladeRedis.batch()
+ *     .setEx("a", 1, Duration.ofMinutes(5))
+ *     .hSet("b", "f", 2)
+ *     .get("a")
+ *     .execute();
+ * </pre>
+ * 返回结果与命令顺序一致，值类型使用 RedisTemplate 配置的序列化方式反序列化。
+ * </p>
+ *
+ * @author Chill
+ */
+@SuppressWarnings("unchecked")
+public class RedisBatch {
+	/**
+	 * 默认每批发送的命令数
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 500;
+
+	private final BladeRedis bladeRedis;
+	private final RedisSerializer<Object> valueSerializer;
+	private final RedisSerializer<Object> hashValueSerializer;
+	private final List<Consumer<RedisConnection>> commands = new ArrayList<>();
+	private final int chunkSize;
+
+	RedisBatch(BladeRedis bladeRedis, int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+		RedisTemplate<String, Object> redisTemplate = bladeRedis.getRedisTemplate();
+		this.bladeRedis = bladeRedis;
+		this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+		this.hashValueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * 存放 key-value 对
+	 *
+	 * @param key   键
+	 * @param value 值
+	 * @return RedisBatch
+	 */
+	public RedisBatch set(String key, Object value) {
+		byte[] rawKey = rawKey(key);
+		byte[] rawValue = rawValue(value);
+		return add(redis -> redis.stringCommands().set(rawKey, rawValue));
+	}
+
+	/**
+	 * 存放 key-value 对，并设置过期时间
+	 *
+	 * @param key     键
+	 * @param value   值
+	 * @param timeout 过期时间
+	 * @return RedisBatch
+	 */
+	public RedisBatch setEx(String key, Object value, Duration timeout) {
+		byte[] rawKey = rawKey(key);
+		byte[] rawValue = rawValue(value);
+		return add(redis -> redis.stringCommands().set(rawKey, rawValue, Expiration.from(timeout), RedisStringCommands.SetOption.upsert()));
+	}
+
+	/**
+	 * 按缓存键存放，缓存键有过期时间时设置过期时间
+	 *
+	 * @param cacheKey 缓存键
+	 * @param value    值
+	 * @return RedisBatch
+	 */
+	public RedisBatch set(CacheKey cacheKey, Object value) {
+		Duration expire = cacheKey.getExpire();
+		return expire == null ? set(cacheKey.getKey(), value) : setEx(cacheKey.getKey(), value, expire);
+	}
+
+	/**
+	 * 获取 key 对应的值
+	 *
+	 * @param key 键
+	 * @return RedisBatch
+	 */
+	public RedisBatch get(String key) {
+		byte[] rawKey = rawKey(key);
+		return add(redis -> redis.stringCommands().get(rawKey));
+	}
+
+	/**
+	 * 删除 key
+	 *
+	 * @param keys 键
+	 * @return RedisBatch
+	 */
+	public RedisBatch del(String... keys) {
+		byte[][] rawKeys = new byte[keys.length][];
+		for (int i = 0; i < keys.length; i++) {
+			rawKeys[i] = rawKey(keys[i]);
+		}
+		return add(redis -> redis.keyCommands().del(rawKeys));
+	}
+
+	/**
+	 * 设置过期时间
+	 *
+	 * @param key     键
+	 * @param timeout 过期时间
+	 * @return RedisBatch
+	 */
+	public RedisBatch expire(String key, Duration timeout) {
+		byte[] rawKey = rawKey(key);
+		long millis = timeout.toMillis();
+		return add(redis -> redis.keyCommands().pExpire(rawKey, millis));
+	}
+
+	/**
+	 * 将 key 中存储的数字值增加指定的值
+	 *
+	 * @param key   键
+	 * @param delta 增量
+	 * @return RedisBatch
+	 */
+	public RedisBatch incrBy(String key, long delta) {
+		byte[] rawKey = rawKey(key);
+		return add(redis -> redis.stringCommands().incrBy(rawKey, delta));
+	}
+
+	/**
+	 * 设置哈希表字段的值
+	 *
+	 * @param key   键
+	 * @param field 字段
+	 * @param value 值
+	 * @return RedisBatch
+	 */
+	public RedisBatch hSet(String key, Object field, Object value) {
+		byte[] rawKey = rawKey(key);
+		byte[] rawField = bladeRedis.hashKeySerializer(field);
+		byte[] rawValue = rawHashValue(value);
+		return add(redis -> redis.hashCommands().hSet(rawKey, rawField, rawValue));
+	}
+
+	/**
+	 * 获取哈希表字段的值
+	 *
+	 * @param key   键
+	 * @param field 字段
+	 * @return RedisBatch
+	 */
+	public RedisBatch hGet(String key, Object field) {
+		byte[] rawKey = rawKey(key);
+		byte[] rawField = bladeRedis.hashKeySerializer(field);
+		return add(redis -> redis.hashCommands().hGet(rawKey, rawField));
+	}
+
+	/**
+	 * 删除哈希表字段
+	 *
+	 * @param key    键
+	 * @param fields 字段
+	 * @return RedisBatch
+	 */
+	public RedisBatch hDel(String key, Object... fields) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawFields = new byte[fields.length][];
+		for (int i = 0; i < fields.length; i++) {
+			rawFields[i] = bladeRedis.hashKeySerializer(fields[i]);
+		}
+		return add(redis -> redis.hashCommands().hDel(rawKey, rawFields));
+	}
+
+	/**
+	 * 向集合添加成员
+	 *
+	 * @param key     键
+	 * @param members 成员
+	 * @return RedisBatch
+	 */
+	public RedisBatch sAdd(String key, Object... members) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawMembers = rawValues(members);
+		return add(redis -> redis.setCommands().sAdd(rawKey, rawMembers));
+	}
+
+	/**
+	 * 移除集合成员
+	 *
+	 * @param key     键
+	 * @param members 成员
+	 * @return RedisBatch
+	 */
+	public RedisBatch sRem(String key, Object... members) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawMembers = rawValues(members);
+		return add(redis -> redis.setCommands().sRem(rawKey, rawMembers));
+	}
+
+	/**
+	 * 向有序集合添加成员
+	 *
+	 * @param key    键
+	 * @param member 成员
+	 * @param score  分数
+	 * @return RedisBatch
+	 */
+	public RedisBatch zAdd(String key, Object member, double score) {
+		byte[] rawKey = rawKey(key);
+		byte[] rawMember = rawValue(member);
+		return add(redis -> redis.zSetCommands().zAdd(rawKey, score, rawMember, RedisZSetCommands.ZAddArgs.empty()));
+	}
+
+	/**
+	 * 移除有序集合成员
+	 *
+	 * @param key     键
+	 * @param members 成员
+	 * @return RedisBatch
+	 */
+	public RedisBatch zRem(String key, Object... members) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawMembers = rawValues(members);
+		return add(redis -> redis.zSetCommands().zRem(rawKey, rawMembers));
+	}
+
+	/**
+	 * 从列表左侧插入
+	 *
+	 * @param key    键
+	 * @param values 值
+	 * @return RedisBatch
+	 */
+	public RedisBatch lPush(String key, Object... values) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawValues = rawValues(values);
+		return add(redis -> redis.listCommands().lPush(rawKey, rawValues));
+	}
+
+	/**
+	 * 从列表右侧插入
+	 *
+	 * @param key    键
+	 * @param values 值
+	 * @return RedisBatch
+	 */
+	public RedisBatch rPush(String key, Object... values) {
+		byte[] rawKey = rawKey(key);
+		byte[][] rawValues = rawValues(values);
+		return add(redis -> redis.listCommands().rPush(rawKey, rawValues));
+	}
+
+	/**
+	 * 已排队的命令数
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return commands.size();
+	}
+
+	/**
+	 * 执行所有命令，按 chunkSize 分批 pipeline 发送
+	 *
+	 * @return 与命令顺序一致的结果
+	 */
+	public List<Object> execute() {
+		if (commands.isEmpty()) {
+			return Collections.emptyList();
+		}
+		RedisTemplate<String, Object> redisTemplate = bladeRedis.getRedisTemplate();
+		List<Object> results = new ArrayList<>(commands.size());
+		for (int from = 0; from < commands.size(); from += chunkSize) {
+			List<Consumer<RedisConnection>> chunk = commands.subList(from, Math.min(from + chunkSize, commands.size()));
+			results.addAll(redisTemplate.executePipelined((RedisCallback<Object>) redis -> {
+				chunk.forEach(command -> command.accept(redis));
+				return null;
+			}, valueSerializer));
+		}
+		commands.clear();
+		return results;
+	}
+
+	private RedisBatch add(Consumer<RedisConnection> command) {
+		commands.add(command);
+		return this;
+	}
+
+	private byte[] rawKey(String key) {
+		return bladeRedis.keySerialize(key);
+	}
+
+	private byte[] rawValue(@Nullable Object value) {
+		return Objects.requireNonNull(valueSerializer.serialize(value), "Redis value is null.");
+	}
+
+	private byte[] rawHashValue(@Nullable Object value) {
+		return Objects.requireNonNull(hashValueSerializer.serialize(value), "Redis hash value is null.");
+	}
+
+	private byte[][] rawValues(Object... values) {
+		byte[][] rawValues = new byte[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			rawValues[i] = rawValue(values[i]);
+		}
+		return rawValues;
+	}
+
+}
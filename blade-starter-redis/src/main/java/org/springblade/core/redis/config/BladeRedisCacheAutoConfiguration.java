@@ -16,6 +16,10 @@
 
 package org.springblade.core.redis.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springblade.core.redis.cache.MultiLevelCacheManager;
+import org.springblade.core.redis.props.BladeRedisProperties;
+import org.springblade.core.redis.pubsub.RPubSubPublisher;
 import org.springblade.core.tool.config.RedisConfiguration;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -42,7 +46,7 @@ import java.util.Map;
  * @author L.cm
  */
 @AutoConfiguration(before = RedisConfiguration.class)
-@EnableConfigurationProperties(CacheProperties.class)
+@EnableConfigurationProperties({CacheProperties.class, BladeRedisProperties.class})
 public class BladeRedisCacheAutoConfiguration {
 
 	/**
@@ -51,22 +55,27 @@ public class BladeRedisCacheAutoConfiguration {
 	private final RedisSerializer<Object> redisSerializer;
 	private final CacheProperties cacheProperties;
 	private final CacheManagerCustomizers customizerInvoker;
+	private final BladeRedisProperties bladeRedisProperties;
 	@Nullable
 	private final RedisCacheConfiguration redisCacheConfiguration;
 
 	BladeRedisCacheAutoConfiguration(RedisSerializer<Object> redisSerializer,
 									 CacheProperties cacheProperties,
 									 CacheManagerCustomizers customizerInvoker,
+									 BladeRedisProperties bladeRedisProperties,
 									 ObjectProvider<RedisCacheConfiguration> redisCacheConfiguration) {
 		this.redisSerializer = redisSerializer;
 		this.cacheProperties = cacheProperties;
 		this.customizerInvoker = customizerInvoker;
+		this.bladeRedisProperties = bladeRedisProperties;
 		this.redisCacheConfiguration = redisCacheConfiguration.getIfAvailable();
 	}
 
 	@Primary
 	@Bean("redisCacheManager")
-	public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+	public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+											   ObjectProvider<RPubSubPublisher> publisherProvider,
+											   ObjectProvider<MeterRegistry> meterRegistryProvider) {
 		RedisCacheWriter redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
 		RedisCacheConfiguration cacheConfiguration = this.determineConfiguration();
 		List<String> cacheNames = this.cacheProperties.getCacheNames();
@@ -78,7 +87,10 @@ public class BladeRedisCacheAutoConfiguration {
 		}
 		boolean allowInFlightCacheCreation = true;
 		boolean enableTransactions = false;
-		RedisAutoCacheManager cacheManager = new RedisAutoCacheManager(redisCacheWriter, cacheConfiguration, initialCaches, allowInFlightCacheCreation);
+		BladeRedisProperties.MultiLevel multiLevel = this.bladeRedisProperties.getMultiLevel();
+		RedisAutoCacheManager cacheManager = multiLevel.isEnabled()
+			? new MultiLevelCacheManager(redisCacheWriter, cacheConfiguration, initialCaches, allowInFlightCacheCreation, multiLevel, redisSerializer, publisherProvider, meterRegistryProvider)
+			: new RedisAutoCacheManager(redisCacheWriter, cacheConfiguration, initialCaches, allowInFlightCacheCreation);
 		cacheManager.setTransactionAware(enableTransactions);
 		return this.customizerInvoker.customize(cacheManager);
 	}
@@ -16,10 +16,13 @@
 
 package org.springblade.core.redis.config;
 
+import org.springblade.core.redis.props.BladeRedisProperties;
+import org.springblade.core.redis.serializer.CompressRedisSerializer;
 import org.springblade.core.redis.serializer.ProtoStuffSerializer;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
@@ -30,12 +33,18 @@ import org.springframework.data.redis.serializer.RedisSerializer;
  */
 @AutoConfiguration(before = RedisTemplateConfiguration.class)
 @ConditionalOnClass(name = "io.protostuff.Schema")
+@EnableConfigurationProperties(BladeRedisProperties.class)
 public class ProtoStuffSerializerConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	public RedisSerializer<Object> redisSerializer() {
-		return new ProtoStuffSerializer();
+	public RedisSerializer<Object> redisSerializer(BladeRedisProperties properties) {
+		RedisSerializer<Object> serializer = new ProtoStuffSerializer(properties.getSerializer().isDirectTypes());
+		BladeRedisProperties.Compression compression = properties.getCompression();
+		if (compression.isEnabled()) {
+			return new CompressRedisSerializer(serializer, (int) compression.getThreshold().toBytes(), compression.getLevel());
+		}
+		return serializer;
 	}
 
 }
@@ -22,8 +22,10 @@ import org.springblade.core.redis.pubsub.RPubSubListenerDetector;
 import org.springblade.core.redis.pubsub.RPubSubListenerLazyFilter;
 import org.springblade.core.redis.pubsub.RPubSubPublisher;
 import org.springblade.core.redis.pubsub.RedisPubSubPublisher;
+import org.springblade.core.redis.props.BladeRedisProperties;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -36,6 +38,7 @@ import org.springframework.data.redis.serializer.RedisSerializer;
  * @author L.cm
  */
 @AutoConfiguration
+@EnableConfigurationProperties(BladeRedisProperties.class)
 public class RedisPubSubConfiguration {
 
 	@Bean
@@ -16,21 +16,29 @@
 
 package org.springblade.core.redis.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springblade.core.redis.cache.BladeRedis;
+import org.springblade.core.redis.props.BladeRedisProperties;
+import org.springblade.core.redis.serializer.CompressRedisSerializer;
 import org.springblade.core.redis.serializer.ProtoStuffSerializer;
 import org.springblade.core.redis.serializer.RedisKeySerializer;
 import org.springblade.core.tool.config.RedisConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.concurrent.Executor;
+
 /**
  * RedisTemplate  配置
  *
@@ -38,6 +46,7 @@ import org.springframework.data.redis.serializer.RedisSerializer;
  */
 @EnableCaching
 @AutoConfiguration(before = {RedisConfiguration.class, RedisAutoConfiguration.class})
+@EnableConfigurationProperties(BladeRedisProperties.class)
 public class RedisTemplateConfiguration {
 
 	/**
@@ -47,8 +56,13 @@ public class RedisTemplateConfiguration {
 	 */
 	@Bean
 	@ConditionalOnMissingBean(RedisSerializer.class)
-	public RedisSerializer<Object> redisSerializer() {
-		return new ProtoStuffSerializer();
+	public RedisSerializer<Object> redisSerializer(BladeRedisProperties properties) {
+		RedisSerializer<Object> serializer = new ProtoStuffSerializer(properties.getSerializer().isDirectTypes());
+		BladeRedisProperties.Compression compression = properties.getCompression();
+		if (compression.isEnabled()) {
+			return new CompressRedisSerializer(serializer, (int) compression.getThreshold().toBytes(), compression.getLevel());
+		}
+		return serializer;
 	}
 
 	@Bean(name = "redisTemplate")
@@ -73,8 +87,23 @@ public class RedisTemplateConfiguration {
 	}
 
 	@Bean
-	public BladeRedis bladeRedis(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate) {
-		return new BladeRedis(redisTemplate, stringRedisTemplate);
+	public MeterBinder redisSerializerMetrics(RedisSerializer<Object> redisSerializer) {
+		return registry -> {
+			if (redisSerializer instanceof CompressRedisSerializer compressRedisSerializer) {
+				compressRedisSerializer.bindTo(registry);
+			}
+		};
+	}
+
+	@Bean
+	public BladeRedis bladeRedis(RedisTemplate<String, Object> redisTemplate, StringRedisTemplate stringRedisTemplate,
+								 BladeRedisProperties properties, ObjectProvider<TaskDecorator> taskDecorator) {
+		BladeRedisProperties.Refresh refresh = properties.getRefresh();
+		Executor pool = BladeRedis.newRefreshExecutor(refresh.getThreads(), refresh.getQueueCapacity());
+		// 提交时通过应用的 TaskDecorator 采集请求上下文，保证租户等上下文相关的加载器在后台刷新时结果一致
+		TaskDecorator decorator = taskDecorator.getIfUnique();
+		Executor refreshExecutor = decorator == null ? pool : task -> pool.execute(decorator.decorate(task));
+		return new BladeRedis(redisTemplate, stringRedisTemplate, refreshExecutor);
 	}
 
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.redis.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis扩展配置
+ *
+ * @author Chill
+ */
+@Data
+@ConfigurationProperties(BladeRedisProperties.PREFIX)
+public class BladeRedisProperties {
+	public static final String PREFIX = "blade.redis";
+
+	/**
+	 * 多级缓存配置
+	 */
+	private MultiLevel multiLevel = new MultiLevel();
+
+	/**
+	 * 序列化配置
+	 */
+	private Serializer serializer = new Serializer();
+
+	/**
+	 * 压缩配置
+	 */
+	private Compression compression = new Compression();
+
+	/**
+	 * pub/sub 配置
+	 */
+	private PubSub pubSub = new PubSub();
+
+	/**
+	 * 缓存提前刷新配置
+	 */
+	private Refresh refresh = new Refresh();
+
+	/**
+	 * 多级缓存配置
+	 */
+	@Data
+	public static class MultiLevel {
+		/**
+		 * 是否开启本地一级缓存
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 每个缓存名下一级缓存的最大数量
+		 */
+		private long maximumSize = 1000L;
+
+		/**
+		 * 一级缓存过期时间, 超过redis缓存的ttl时以redis的ttl为准
+		 */
+		private Duration expire = Duration.ofMinutes(5);
+
+		/**
+		 * 一级缓存直接共享对象的缓存名, 命中时不再复制, 调用方不能修改返回值
+		 */
+		private List<String> sharedCacheNames = new ArrayList<>();
+	}
+
+	/**
+	 * 序列化配置
+	 */
+	@Data
+	public static class Serializer {
+		/**
+		 * byte[]、String 和基本类型包装类是否跳过 protostuff 包装直接编码，开启前需保证所有读取方均已升级
+		 */
+		private boolean directTypes = false;
+	}
+
+	/**
+	 * 压缩配置
+	 */
+	@Data
+	public static class Compression {
+		/**
+		 * 是否开启值压缩
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 压缩阈值，序列化后超过该大小才压缩
+		 */
+		private DataSize threshold = DataSize.ofKilobytes(1);
+
+		/**
+		 * 压缩级别 1-9，越大压缩率越高、速度越慢
+		 */
+		private int level = 1;
+	}
+
+	/**
+	 * pub/sub 配置
+	 */
+	@Data
+	public static class PubSub {
+		/**
+		 * 消息处理线程数，为 0 时在 redis 监听容器线程中执行
+		 */
+		private int threads = 0;
+
+		/**
+		 * 消息处理队列容量，队列满时丢弃消息
+		 */
+		private int queueCapacity = 10000;
+
+		/**
+		 * 是否使用虚拟线程处理消息，需 Java 21 及以上，低版本回退到 threads 配置
+		 */
+		private boolean virtualThreads = false;
+	}
+
+	/**
+	 * 缓存提前刷新配置
+	 */
+	@Data
+	public static class Refresh {
+		/**
+		 * 后台刷新线程数
+		 */
+		private int threads = 2;
+
+		/**
+		 * 后台刷新队列容量，队列满时放弃本次提前刷新
+		 */
+		private int queueCapacity = 1000;
+	}
+
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2018-2099, DreamLu 卢春梦 (qq596392912@gmail.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springblade.core.redis.pubsub;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springblade.core.tool.jackson.JsonUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * &#64;RPubSubListener 消息分发
+ *
+ * <p>
+ * 方法通过预编译的 MethodHandle 调用，消息体按方法声明的 RPubSubEvent 泛型转换；
+ * 配置了线程池时在线程池中执行，ordered 为 true 时同一 channel 的消息按到达顺序串行执行。
+ * </p>
+ *
+ * @author L.cm
+ */
+@Slf4j
+class RPubSubDispatcher implements MessageListener {
+	private final String channel;
+	private final boolean pattern;
+	private final MethodHandle handle;
+	private final RedisSerializer<?> redisSerializer;
+	@Nullable
+	private final JavaType messageType;
+	@Nullable
+	private final Executor executor;
+	private final boolean ordered;
+	private final Map<String, SerialExecutor> serialExecutors = new ConcurrentHashMap<>();
+	private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+	private volatile ChannelMetrics metrics;
+
+	RPubSubDispatcher(Object bean, Method method, String channel, RedisSerializer<?> redisSerializer,
+					  @Nullable Executor executor, boolean ordered, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+		this.channel = channel;
+		this.pattern = ChannelUtil.isPattern(channel);
+		this.handle = createHandle(bean, method);
+		this.redisSerializer = redisSerializer;
+		this.messageType = resolveMessageType(method);
+		this.executor = executor;
+		this.ordered = ordered;
+		this.meterRegistryProvider = meterRegistryProvider;
+	}
+
+	@Override
+	public void onMessage(Message message, @Nullable byte[] pattern) {
+		long receivedNs = System.nanoTime();
+		if (executor == null) {
+			dispatch(message, receivedNs);
+			return;
+		}
+		Runnable task = () -> dispatch(message, receivedNs);
+		if (ordered) {
+			executeOrdered(channelOf(message), task);
+			return;
+		}
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			rejected();
+		}
+	}
+
+	/**
+	 * 同一 channel 串行执行，串行执行器空闲后已移除时重新创建
+	 */
+	private void executeOrdered(String key, Runnable task) {
+		while (!serialExecutors.computeIfAbsent(key, SerialExecutor::new).offer(task)) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private void rejected() {
+		getMetrics().rejected.increment();
+		log.warn("@RPubSubListener channel:{} message rejected, executor is busy.", channel);
+	}
+
+	private void dispatch(Message message, long receivedNs) {
+		ChannelMetrics current = getMetrics();
+		long startNs = System.nanoTime();
+		current.lag.record(startNs - receivedNs, TimeUnit.NANOSECONDS);
+		try {
+			Object body = convert(redisSerializer.deserialize(message.getBody()));
+			handle.invokeExact((Object) new RPubSubEvent<>(channel, channelOf(message), body));
+			current.success.increment();
+		} catch (Throwable e) {
+			current.failure.increment();
+			log.error("@RPubSubListener channel:{} handle message error.", channel, e);
+		} finally {
+			current.handle.record(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * 精准模式直接使用注解中的 channel，避免每条消息创建字符串
+	 */
+	private String channelOf(Message message) {
+		return pattern ? new String(message.getChannel()) : channel;
+	}
+
+	@Nullable
+	private Object convert(@Nullable Object body) {
+		if (body == null || messageType == null) {
+			return body;
+		}
+		if (messageType.getRawClass().isInstance(body) && messageType.containedTypeCount() == 0) {
+			return body;
+		}
+		return JsonUtil.getInstance().convertValue(body, messageType);
+	}
+
+	private ChannelMetrics getMetrics() {
+		ChannelMetrics current = this.metrics;
+		if (current == null) {
+			current = new ChannelMetrics(meterRegistryProvider.getIfAvailable(), channel);
+			this.metrics = current;
+		}
+		return current;
+	}
+
+	/**
+	 * 预编译方法调用，统一为 (Object)void
+	 */
+	private static MethodHandle createHandle(Object bean, Method method) {
+		ReflectionUtils.makeAccessible(method);
+		try {
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).bindTo(bean);
+			// 支持没有参数的方法
+			if (method.getParameterCount() == 0) {
+				methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+			}
+			return methodHandle.asType(MethodType.methodType(void.class, Object.class));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("@RPubSubListener on method " + method + " is not accessible.", e);
+		}
+	}
+
+	/**
+	 * 解析 RPubSubEvent 声明的消息泛型，Object 或未声明时不转换
+	 */
+	@Nullable
+	private static JavaType resolveMessageType(Method method) {
+		if (method.getParameterCount() == 0) {
+			return null;
+		}
+		ResolvableType eventType = ResolvableType.forMethodParameter(method, 0).as(RPubSubEvent.class);
+		ResolvableType generic = eventType.getGeneric(0);
+		Class<?> rawClass = generic.resolve();
+		if (rawClass == null || Object.class == rawClass) {
+			return null;
+		}
+		Type type = generic.getType();
+		return JsonUtil.getInstance().getTypeFactory().constructType(type);
+	}
+
+	/**
+	 * 单个 channel 的消息指标
+	 */
+	private static final class ChannelMetrics {
+		private final Counter success;
+		private final Counter failure;
+		private final Counter rejected;
+		private final Timer lag;
+		private final Timer handle;
+
+		ChannelMetrics(@Nullable MeterRegistry registry, String channel) {
+			if (registry == null) {
+				registry = Metrics.globalRegistry;
+			}
+			this.success = messages(registry, channel, "success");
+			this.failure = messages(registry, channel, "failure");
+			this.rejected = messages(registry, channel, "rejected");
+			this.lag = Timer.builder("blade.redis.pubsub.lag").tag("channel", channel)
+				.description("time from message received to handler start").register(registry);
+			this.handle = Timer.builder("blade.redis.pubsub.handle").tag("channel", channel)
+				.description("message handler execution time").register(registry);
+		}
+
+		private static Counter messages(MeterRegistry registry, String channel, String result) {
+			return Counter.builder("blade.redis.pubsub.messages").tag("channel", channel).tag("result", result)
+				.description("pub/sub messages").register(registry);
+		}
+	}
+
+	/**
+	 * 串行执行器，同一 channel 的消息按到达顺序执行，队列执行完后从缓存中移除，避免 pattern 订阅的 channel 无限累积
+	 */
+	private final class SerialExecutor {
+		private final Queue<Runnable> tasks = new ArrayDeque<>();
+		private final String key;
+		private Runnable active;
+		private boolean retired;
+
+		SerialExecutor(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * 提交任务
+		 *
+		 * @param task 任务
+		 * @return 已移除时返回 false，需重新获取串行执行器
+		 */
+		synchronized boolean offer(Runnable task) {
+			if (retired) {
+				return false;
+			}
+			tasks.add(() -> {
+				try {
+					task.run();
+				} finally {
+					scheduleNext();
+				}
+			});
+			if (active == null) {
+				scheduleNext();
+			}
+			return true;
+		}
+
+		private synchronized void scheduleNext() {
+			while ((active = tasks.poll()) != null) {
+				try {
+					executor.execute(active);
+					return;
+				} catch (RejectedExecutionException e) {
+					rejected();
+				}
+			}
+			// 队列已空，移除空闲的串行执行器
+			retired = true;
+			serialExecutors.remove(key, this);
+		}
+	}
+
+}
@@ -36,4 +36,19 @@ public @interface RPubSubListener {
 	 */
 	String value();
 
+	/**
+	 * 执行消息处理的线程池 bean 名称，为空时使用 blade.redis.pub-sub 配置的线程池，
+	 * 未配置线程池时在 redis 监听容器线程中执行
+	 *
+	 * @return String
+	 */
+	String executor() default "";
+
+	/**
+	 * 使用线程池时，同一 channel 的消息是否按到达顺序串行处理
+	 *
+	 * @return boolean
+	 */
+	boolean ordered() default false;
+
 }
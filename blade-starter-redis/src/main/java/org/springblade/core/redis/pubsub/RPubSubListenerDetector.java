@@ -16,21 +16,26 @@
 
 package org.springblade.core.redis.pubsub;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springblade.core.tool.utils.ReflectUtil;
+import org.springblade.core.redis.props.BladeRedisProperties;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.Topic;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 
-import java.lang.reflect.Method;
+import java.util.concurrent.*;
 
 /**
  * Redisson 监听器
@@ -39,8 +44,13 @@ import java.lang.reflect.Method;
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RPubSubListenerDetector implements BeanPostProcessor {
+public class RPubSubListenerDetector implements BeanPostProcessor, DisposableBean {
 	private final ApplicationContext applicationContext;
+	/**
+	 * 默认消息处理线程池
+	 */
+	private ExecutorService defaultExecutor;
+	private boolean defaultExecutorResolved;
 
 	@Override
 	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
@@ -62,24 +72,52 @@ public class RPubSubListenerDetector implements BeanPostProcessor {
 				// 获取参数
 				RedisMessageListenerContainer redisMessageListenerContainer = getRedisMessageListenerContainer();
 				RedisSerializer<?> redisSerializer = getRedisSerializer();
+				Executor executor = getExecutor(listener);
 				// 添加到监听器处理
-				redisMessageListenerContainer.addMessageListener((message, pattern) -> {
-					String messageChannel = new String(message.getChannel());
-					Object body = redisSerializer.deserialize(message.getBody());
-					invokeMethod(bean, method, paramCount, new RPubSubEvent<>(channel, messageChannel, body));
-				}, topic);
+				RPubSubDispatcher dispatcher = new RPubSubDispatcher(bean, method, channel, redisSerializer,
+					executor, listener.ordered(), applicationContext.getBeanProvider(MeterRegistry.class));
+				redisMessageListenerContainer.addMessageListener(dispatcher, topic);
 			}
 		}, ReflectionUtils.USER_DECLARED_METHODS);
 		return bean;
 	}
 
-	private static void invokeMethod(Object bean, Method method, int paramCount, RPubSubEvent<Object> topicEvent) {
-		// 支持没有参数的方法
-		if (paramCount == 0) {
-			ReflectUtil.invokeMethod(method, bean);
-		} else {
-			ReflectUtil.invokeMethod(method, bean, topicEvent);
+	@Nullable
+	private Executor getExecutor(RPubSubListener listener) {
+		if (StringUtils.hasText(listener.executor())) {
+			return applicationContext.getBean(listener.executor(), Executor.class);
 		}
+		return getDefaultExecutor();
+	}
+
+	/**
+	 * 按 blade.redis.pub-sub 配置创建默认线程池，未配置时返回 null 在监听容器线程中执行
+	 */
+	@Nullable
+	private synchronized Executor getDefaultExecutor() {
+		if (defaultExecutorResolved) {
+			return defaultExecutor;
+		}
+		defaultExecutorResolved = true;
+		BladeRedisProperties.PubSub properties = applicationContext.getBeanProvider(BladeRedisProperties.class)
+			.getIfAvailable(BladeRedisProperties::new).getPubSub();
+		if (properties.isVirtualThreads()) {
+			try {
+				// 虚拟线程需 Java 21+，通过反射创建以兼容 Java 17
+				defaultExecutor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+				return defaultExecutor;
+			} catch (ReflectiveOperationException e) {
+				log.warn("Virtual threads are not supported on this JVM, @RPubSubListener fallback to platform threads.");
+			}
+		}
+		if (properties.getThreads() > 0) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+				60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+				new CustomizableThreadFactory("blade-pubsub-"));
+			executor.allowCoreThreadTimeOut(true);
+			defaultExecutor = executor;
+		}
+		return defaultExecutor;
 	}
 
 	private RedisMessageListenerContainer getRedisMessageListenerContainer() {
@@ -89,4 +127,11 @@ public class RPubSubListenerDetector implements BeanPostProcessor {
 	private RedisSerializer<?> getRedisSerializer() {
 		return applicationContext.getBean(RedisSerializer.class);
 	}
+
+	@Override
+	public synchronized void destroy() {
+		if (defaultExecutor != null) {
+			defaultExecutor.shutdown();
+		}
+	}
 }
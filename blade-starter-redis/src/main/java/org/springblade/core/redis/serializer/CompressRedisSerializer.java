@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2018-2099, Chill Zhuang 庄骞 (bladejava@qq.com).
+ * <p>
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE 3.0;
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.gnu.org/licenses/lgpl.html
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springblade.core.redis.serializer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springblade.core.tool.utils.ObjectUtil;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 压缩序列化，超过阈值的值在写入 redis 前压缩
+ *
+ * <p>
+ * 压缩后的格式为 魔数(0xBC 0x5A) + 压缩方式 + 原始长度 + 压缩内容，魔数不是合法的 protobuf 或 UTF-8 开头，
+ * 读取时根据魔数判断是否需要解压，未压缩的旧数据可以继续读取。
+ * </p>
+ *
+ * @author Chill
+ */
+public class CompressRedisSerializer implements RedisSerializer<Object>, MeterBinder {
+	private static final byte MAGIC_0 = (byte) 0xBC;
+	private static final byte MAGIC_1 = (byte) 0x5A;
+	private static final byte CODEC_DEFLATE = 1;
+	private static final int HEADER_LENGTH = 7;
+
+	private final RedisSerializer<Object> delegate;
+	private final int threshold;
+	private final ThreadLocal<Deflater> deflaterHolder;
+	private final ThreadLocal<Inflater> inflaterHolder = ThreadLocal.withInitial(Inflater::new);
+	private final LongAdder compressedCount = new LongAdder();
+	private final LongAdder originalBytes = new LongAdder();
+	private final LongAdder compressedBytes = new LongAdder();
+
+	/**
+	 * @param delegate  实际的序列化
+	 * @param threshold 压缩阈值（字节），序列化后的大小不小于该值时才压缩
+	 * @param level     压缩级别 1-9
+	 */
+	public CompressRedisSerializer(RedisSerializer<Object> delegate, int threshold, int level) {
+		this.delegate = delegate;
+		this.threshold = threshold;
+		this.deflaterHolder = ThreadLocal.withInitial(() -> new Deflater(level));
+	}
+
+	/**
+	 * 获取实际的序列化
+	 *
+	 * @return RedisSerializer
+	 */
+	public RedisSerializer<Object> getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public byte[] serialize(Object object) throws SerializationException {
+		byte[] bytes = delegate.serialize(object);
+		if (bytes == null || bytes.length < threshold) {
+			return bytes;
+		}
+		byte[] compressed = compress(bytes);
+		// 压缩后反而更大时保持原样
+		if (compressed.length >= bytes.length) {
+			return bytes;
+		}
+		compressedCount.increment();
+		originalBytes.add(bytes.length);
+		compressedBytes.add(compressed.length);
+		return compressed;
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+		if (ObjectUtil.isEmpty(bytes)) {
+			return null;
+		}
+		if (isCompressed(bytes)) {
+			return delegate.deserialize(decompress(bytes));
+		}
+		return delegate.deserialize(bytes);
+	}
+
+	private byte[] compress(byte[] bytes) {
+		Deflater deflater = deflaterHolder.get();
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+			output.write(MAGIC_0);
+			output.write(MAGIC_1);
+			output.write(CODEC_DEFLATE);
+			output.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+			byte[] buffer = new byte[Math.min(bytes.length, 8192)];
+			while (!deflater.finished()) {
+				int count = deflater.deflate(buffer);
+				output.write(buffer, 0, count);
+			}
+			return output.toByteArray();
+		} finally {
+			deflater.reset();
+		}
+	}
+
+	private byte[] decompress(byte[] bytes) {
+		if (bytes[2] != CODEC_DEFLATE) {
+			throw new SerializationException("Unknown redis value compression codec: " + bytes[2]);
+		}
+		int length = ByteBuffer.wrap(bytes, 3, Integer.BYTES).getInt();
+		Inflater inflater = inflaterHolder.get();
+		try {
+			inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+			byte[] result = new byte[length];
+			int offset = 0;
+			while (offset < length && !inflater.finished()) {
+				int count = inflater.inflate(result, offset, length - offset);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				offset += count;
+			}
+			if (offset != length) {
+				throw new SerializationException("Redis value decompression failed, expected " + length + " bytes but got " + offset);
+			}
+			return result;
+		} catch (DataFormatException e) {
+			throw new SerializationException("Redis value decompression failed", e);
+		} finally {
+			inflater.reset();
+		}
+	}
+
+	private static boolean isCompressed(byte[] bytes) {
+		return bytes.length > HEADER_LENGTH && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+	}
+
+	/**
+	 * 压缩率，压缩后大小 / 原始大小
+	 *
+	 * @return ratio
+	 */
+	public double getCompressionRatio() {
+		long original = originalBytes.sum();
+		return original == 0 ? 1.0D : (double) compressedBytes.sum() / original;
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		FunctionCounter.builder("blade.redis.compression.values", compressedCount, LongAdder::sum)
+			.description("redis values written compressed").register(registry);
+		FunctionCounter.builder("blade.redis.compression.bytes", originalBytes, LongAdder::sum)
+			.tag("type", "original").baseUnit("bytes").register(registry);
+		FunctionCounter.builder("blade.redis.compression.bytes", compressedBytes, LongAdder::sum)
+			.tag("type", "compressed").baseUnit("bytes").register(registry);
+		Gauge.builder("blade.redis.compression.ratio", this, CompressRedisSerializer::getCompressionRatio)
+			.description("compressed size / original size").register(registry);
+	}
+
+}
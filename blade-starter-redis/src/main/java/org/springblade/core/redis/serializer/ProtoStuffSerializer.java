@@ -24,16 +24,54 @@ import org.springblade.core.tool.utils.ObjectUtil;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * ProtoStuff 序列化
  *
+ * <p>
+ * 开启 directTypes 后 byte[]、String 和基本类型包装类不再经过 BytesWrapper，直接以
+ * 0x00 + 类型 + 内容 的格式写入；protobuf 的字段编号不可能为 0，所以反序列化时可以和原格式区分，
+ * 新旧数据均可读取。
+ * </p>
+ *
  * @author L.cm
  */
 public class ProtoStuffSerializer implements RedisSerializer<Object> {
+	/**
+	 * 直接编码格式的标记
+	 */
+	private static final byte DIRECT_MARKER = 0x00;
+	private static final byte TYPE_BYTES = 1;
+	private static final byte TYPE_STRING = 2;
+	private static final byte TYPE_INTEGER = 3;
+	private static final byte TYPE_LONG = 4;
+	private static final byte TYPE_DOUBLE = 5;
+	private static final byte TYPE_FLOAT = 6;
+	private static final byte TYPE_SHORT = 7;
+	private static final byte TYPE_BYTE = 8;
+	private static final byte TYPE_BOOLEAN = 9;
+	private static final byte TYPE_CHARACTER = 10;
+	/**
+	 * 线程内复用 buffer，避免每次序列化都重新申请
+	 */
+	private static final ThreadLocal<LinkedBuffer> BUFFER_HOLDER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
+
 	private final Schema<BytesWrapper> schema;
+	private final boolean directTypes;
 
 	public ProtoStuffSerializer() {
+		this(false);
+	}
+
+	/**
+	 * @param directTypes 是否对 byte[]、String 和基本类型包装类直接编码
+	 */
+	public ProtoStuffSerializer(boolean directTypes) {
 		this.schema = RuntimeSchema.getSchema(BytesWrapper.class);
+		this.directTypes = directTypes;
 	}
 
 	@Override
@@ -41,7 +79,13 @@ public class ProtoStuffSerializer implements RedisSerializer<Object> {
 		if (object == null) {
 			return null;
 		}
-		LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
+		if (directTypes) {
+			byte[] direct = serializeDirect(object);
+			if (direct != null) {
+				return direct;
+			}
+		}
+		LinkedBuffer buffer = BUFFER_HOLDER.get();
 		try {
 			return ProtobufIOUtil.toByteArray(new BytesWrapper<>(object), schema, buffer);
 		} finally {
@@ -54,8 +98,69 @@ public class ProtoStuffSerializer implements RedisSerializer<Object> {
 		if (ObjectUtil.isEmpty(bytes)) {
 			return null;
 		}
+		if (bytes[0] == DIRECT_MARKER) {
+			return deserializeDirect(bytes);
+		}
 		BytesWrapper<Object> wrapper = new BytesWrapper<>();
 		ProtobufIOUtil.mergeFrom(bytes, wrapper, schema);
 		return wrapper.getValue();
 	}
+
+	private static byte[] serializeDirect(Object object) {
+		if (object instanceof byte[] value) {
+			byte[] bytes = new byte[value.length + 2];
+			bytes[0] = DIRECT_MARKER;
+			bytes[1] = TYPE_BYTES;
+			System.arraycopy(value, 0, bytes, 2, value.length);
+			return bytes;
+		} else if (object instanceof String value) {
+			byte[] content = value.getBytes(StandardCharsets.UTF_8);
+			byte[] bytes = new byte[content.length + 2];
+			bytes[0] = DIRECT_MARKER;
+			bytes[1] = TYPE_STRING;
+			System.arraycopy(content, 0, bytes, 2, content.length);
+			return bytes;
+		} else if (object instanceof Integer value) {
+			return allocate(TYPE_INTEGER, Integer.BYTES).putInt(value).array();
+		} else if (object instanceof Long value) {
+			return allocate(TYPE_LONG, Long.BYTES).putLong(value).array();
+		} else if (object instanceof Double value) {
+			return allocate(TYPE_DOUBLE, Double.BYTES).putDouble(value).array();
+		} else if (object instanceof Float value) {
+			return allocate(TYPE_FLOAT, Float.BYTES).putFloat(value).array();
+		} else if (object instanceof Short value) {
+			return allocate(TYPE_SHORT, Short.BYTES).putShort(value).array();
+		} else if (object instanceof Byte value) {
+			return allocate(TYPE_BYTE, Byte.BYTES).put(value).array();
+		} else if (object instanceof Boolean value) {
+			return allocate(TYPE_BOOLEAN, Byte.BYTES).put((byte) (value ? 1 : 0)).array();
+		} else if (object instanceof Character value) {
+			return allocate(TYPE_CHARACTER, Character.BYTES).putChar(value).array();
+		}
+		return null;
+	}
+
+	private static ByteBuffer allocate(byte type, int size) {
+		return ByteBuffer.allocate(size + 2).put(DIRECT_MARKER).put(type);
+	}
+
+	private static Object deserializeDirect(byte[] bytes) {
+		if (bytes.length < 2) {
+			throw new SerializationException("Invalid direct encoded value, length: " + bytes.length);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+		return switch (bytes[1]) {
+			case TYPE_BYTES -> Arrays.copyOfRange(bytes, 2, bytes.length);
+			case TYPE_STRING -> new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_8);
+			case TYPE_INTEGER -> buffer.getInt();
+			case TYPE_LONG -> buffer.getLong();
+			case TYPE_DOUBLE -> buffer.getDouble();
+			case TYPE_FLOAT -> buffer.getFloat();
+			case TYPE_SHORT -> buffer.getShort();
+			case TYPE_BYTE -> buffer.get();
+			case TYPE_BOOLEAN -> buffer.get() != 0;
+			case TYPE_CHARACTER -> buffer.getChar();
+			default -> throw new SerializationException("Unknown direct encoded type: " + bytes[1]);
+		};
+	}
 }
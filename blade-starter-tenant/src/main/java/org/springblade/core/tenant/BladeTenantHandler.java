@@ -16,24 +16,57 @@
 package org.springblade.core.tenant;
 
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
-import lombok.AllArgsConstructor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.util.TablesNamesFinder;
 import org.springblade.core.tool.utils.Func;
+import org.springblade.core.tool.utils.StringPool;
 import org.springblade.core.tool.utils.StringUtil;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 租户信息处理器
  *
  * @author Chill
  */
 @Slf4j
-@AllArgsConstructor
 public class BladeTenantHandler implements TenantLineHandler {
 
 	private final BladeTenantProperties properties;
 
+	/**
+	 * 租户表快照，配置中的表集合被替换后自动重建
+	 */
+	private volatile TenantTables tenantTables;
+
+	/**
+	 * sql 是否包含租户表，不包含租户表的 sql 跳过租户改写
+	 */
+	private final Cache<String, Boolean> statementCache = CacheBuilder.newBuilder()
+		.maximumSize(4096)
+		.build();
+
+	/**
+	 * 租户id表达式，避免每条语句重复创建
+	 */
+	private final LoadingCache<String, StringValue> tenantIdExpressions = CacheBuilder.newBuilder()
+		.maximumSize(1024)
+		.build(CacheLoader.from((String tenantId) -> new StringValue(tenantId)));
+
+	public BladeTenantHandler(BladeTenantProperties properties) {
+		this.properties = properties;
+		this.tenantTables = TenantTables.of(properties);
+	}
+
 	/**
 	 * 获取租户ID
 	 *
@@ -41,7 +74,7 @@ public class BladeTenantHandler implements TenantLineHandler {
 	 */
 	@Override
 	public Expression getTenantId() {
-		return new StringValue(Func.toStr(TenantUtil.getTenantId(), properties.getDefaultTenantId()));
+		return tenantIdExpressions.getUnchecked(Func.toStr(TenantUtil.getTenantId(), properties.getDefaultTenantId()));
 	}
 
 	/**
@@ -62,18 +95,100 @@ public class BladeTenantHandler implements TenantLineHandler {
 	 */
 	@Override
 	public boolean ignoreTable(String tableName) {
+		if (!tenantTables().contains(tableName)) {
+			return true;
+		}
 		if (BladeTenantHolder.isIgnore()) {
 			return true;
 		}
 		if (TenantUtil.isIgnore()) {
 			return true;
 		}
-		return !(
-			(
-				(!properties.getTables().isEmpty() && properties.getTables().contains(tableName))
-					|| properties.getBladeTables().contains(tableName)
-			)
-				&& StringUtil.isNotBlank(TenantUtil.getTenantId())
-		);
+		return StringUtil.isBlank(TenantUtil.getTenantId());
+	}
+
+	/**
+	 * 判断 sql 是否包含租户表，结果按 sql 缓存
+	 *
+	 * @param sql sql
+	 * @return 是否包含租户表，无法解析时返回 true
+	 */
+	public boolean containsTenantTable(String sql) {
+		TenantTables current = tenantTables();
+		Boolean contains = statementCache.getIfPresent(sql);
+		if (contains == null) {
+			contains = current.containsAny(sql);
+			statementCache.put(sql, contains);
+		}
+		return contains;
 	}
+
+	/**
+	 * 重建租户表快照，原地修改配置中的表集合后需手动调用
+	 */
+	public synchronized void refreshTables() {
+		tenantTables = TenantTables.of(properties);
+		statementCache.invalidateAll();
+	}
+
+	private TenantTables tenantTables() {
+		TenantTables current = tenantTables;
+		if (!current.isCurrent(properties)) {
+			refreshTables();
+			current = tenantTables;
+		}
+		return current;
+	}
+
+	/**
+	 * 租户表快照
+	 *
+	 * @param tables      配置中的多租户数据表
+	 * @param bladeTables 配置中的多租户系统数据表
+	 * @param names       合并后的租户表
+	 */
+	private record TenantTables(List<String> tables, List<String> bladeTables, Set<String> names) {
+
+		static TenantTables of(BladeTenantProperties properties) {
+			List<String> tables = properties.getTables();
+			List<String> bladeTables = properties.getBladeTables();
+			Set<String> names = new HashSet<>();
+			if (tables != null) {
+				names.addAll(tables);
+			}
+			if (bladeTables != null) {
+				names.addAll(bladeTables);
+			}
+			return new TenantTables(tables, bladeTables, Set.copyOf(names));
+		}
+
+		boolean isCurrent(BladeTenantProperties properties) {
+			return tables == properties.getTables() && bladeTables == properties.getBladeTables();
+		}
+
+		boolean contains(String tableName) {
+			return tableName != null && names.contains(tableName);
+		}
+
+		boolean containsAny(String sql) {
+			if (names.isEmpty()) {
+				return false;
+			}
+			Set<String> sqlTables;
+			try {
+				sqlTables = TablesNamesFinder.findTables(sql);
+			} catch (JSQLParserException | RuntimeException e) {
+				log.debug("tenant table detection skipped, sql parse failed: {}", e.getMessage());
+				return true;
+			}
+			for (String sqlTable : sqlTables) {
+				String tableName = sqlTable.substring(sqlTable.lastIndexOf(StringPool.DOT) + 1);
+				if (names.contains(tableName) || names.contains(tableName.replace(StringPool.BACKTICK, StringPool.EMPTY).replace(StringPool.QUOTE, StringPool.EMPTY))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 }
@@ -15,33 +15,53 @@
  */
 package org.springblade.core.tenant;
 
-import org.springframework.core.NamedThreadLocal;
+import org.springblade.core.secure.context.BladeContext;
+import org.springblade.core.secure.context.BladeContextHolder;
 
 /**
- * 租户线程处理
+ * 租户线程处理，忽略标记保存在 {@link BladeContext} 中，可随上下文传递到异步线程
+ *
+ * <p>
+ * setIgnore 与 clear 直接设置当前的忽略状态；需要嵌套使用时改用 pushIgnore 与 popIgnore 成对调用，
+ * popIgnore 仅撤销对应的一次 pushIgnore，不会影响外层设置的忽略状态。
+ * </p>
  *
  * @author Chill
  */
 public class BladeTenantHolder {
 
-	private static final ThreadLocal<Boolean> TENANT_KEY_HOLDER = new NamedThreadLocal<Boolean>("blade-tenant") {
-		@Override
-		protected Boolean initialValue() {
-			return Boolean.FALSE;
-		}
-	};
-
 	public static void setIgnore(Boolean ignore) {
-		TENANT_KEY_HOLDER.set(ignore);
+		BladeContext context = BladeContext.current();
+		if (Boolean.TRUE.equals(ignore)) {
+			BladeContextHolder.set(context.withTenantIgnoreDepth(Math.max(context.getTenantIgnoreDepth(), 1)));
+		} else {
+			BladeContextHolder.set(context.withTenantIgnore(false).withTenantIgnoreDepth(0));
+		}
 	}
 
 	public static Boolean isIgnore() {
-		return TENANT_KEY_HOLDER.get();
+		return BladeContext.current().isTenantIgnore();
 	}
 
 
 	public static void clear() {
-		TENANT_KEY_HOLDER.remove();
+		setIgnore(false);
+	}
+
+	/**
+	 * 增加一层忽略租户，需与 {@link #popIgnore()} 成对调用
+	 */
+	public static void pushIgnore() {
+		BladeContext context = BladeContext.current();
+		BladeContextHolder.set(context.withTenantIgnoreDepth(context.getTenantIgnoreDepth() + 1));
+	}
+
+	/**
+	 * 撤销一层 {@link #pushIgnore()} 设置的忽略租户
+	 */
+	public static void popIgnore() {
+		BladeContext context = BladeContext.current();
+		BladeContextHolder.set(context.withTenantIgnoreDepth(context.getTenantIgnoreDepth() - 1));
 	}
 
 
@@ -20,6 +20,14 @@ import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerIntercept
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
 
 /**
  * 租户拦截器
@@ -42,4 +50,31 @@ public class BladeTenantInterceptor extends TenantLineInnerInterceptor {
 		this.tenantLineHandler = tenantLineHandler;
 	}
 
+	@Override
+	@SuppressWarnings("rawtypes")
+	public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+		if (skip(boundSql.getSql())) {
+			return;
+		}
+		super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+	}
+
+	@Override
+	public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+		if (skip(sh.getBoundSql().getSql())) {
+			return;
+		}
+		super.beforePrepare(sh, connection, transactionTimeout);
+	}
+
+	/**
+	 * 不包含租户表的 sql 无需解析改写
+	 *
+	 * @param sql sql
+	 * @return 是否跳过
+	 */
+	private boolean skip(String sql) {
+		return tenantLineHandler instanceof BladeTenantHandler bladeTenantHandler && !bladeTenantHandler.containsTenantTable(sql);
+	}
+
 }
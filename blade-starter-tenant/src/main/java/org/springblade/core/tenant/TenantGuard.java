@@ -15,22 +15,32 @@
  */
 package org.springblade.core.tenant;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.extension.service.IService;
 import org.springblade.core.secure.utils.SecureUtil;
 import org.springblade.core.tenant.exception.TenantException;
 import org.springblade.core.tool.utils.CollectionUtil;
 import org.springblade.core.tool.utils.ReflectUtil;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * 租户归属守卫
  * <p>
  * 统一拦截「目标实体是否属于当前会话租户」的越权写操作。平台超管（administrator）默认放行。
- * 通过反射访问实体的 getId / getTenantId / setTenantId 方法，调用方无需传入 lambda。
+ * 通过 LambdaMetafactory 生成实体 getId / getTenantId / setTenantId 访问器，调用方无需传入 lambda。
  *
  * @author Chill
  */
@@ -40,9 +50,11 @@ public class TenantGuard {
 	private static final String METHOD_GET_TENANT_ID = "getTenantId";
 	private static final String METHOD_SET_TENANT_ID = "setTenantId";
 
-	private static final ConcurrentHashMap<Class<?>, Method> ID_GETTER_CACHE = new ConcurrentHashMap<>();
-	private static final ConcurrentHashMap<Class<?>, Method> TENANT_GETTER_CACHE = new ConcurrentHashMap<>();
-	private static final ConcurrentHashMap<Class<?>, Method> TENANT_SETTER_CACHE = new ConcurrentHashMap<>();
+	private static final String PROPERTY_TENANT_ID = "tenantId";
+
+	private static final ConcurrentHashMap<Class<?>, Function<Object, Object>> ID_GETTER_CACHE = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, Function<Object, Object>> TENANT_GETTER_CACHE = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, BiConsumer<Object, Object>> TENANT_SETTER_CACHE = new ConcurrentHashMap<>();
 
 	private TenantGuard() {
 	}
@@ -88,10 +100,11 @@ public class TenantGuard {
 	 */
 	public static <T> T verify(IService<T> service, Long id, EntityType entityType) {
 		T entity = service.getById(id);
-		if (SecureUtil.isAdministrator()) {
+		Session session = Session.current();
+		if (session.administrator()) {
 			return entity;
 		}
-		if (entity == null || !SecureUtil.getTenantId().equals(tenantIdOf(entity))) {
+		if (entity == null || !session.tenantId().equals(tenantIdOf(entity))) {
 			throw new TenantException("无权操作非本租户的" + entityType.label());
 		}
 		return entity;
@@ -110,20 +123,77 @@ public class TenantGuard {
 	 * @throws TenantException 当修改路径下目标实体不存在或归属其他租户时抛出
 	 */
 	public static <T> void bindTenant(IService<T> service, T entity, EntityType entityType) {
-		Long id = idOf(entity);
-		if (id == null) {
-			if (!SecureUtil.isAdministrator()) {
-				bindTenantId(entity, SecureUtil.getTenantId());
+		bindTenantBatch(service, Collections.singletonList(entity), entityType);
+	}
+
+	/**
+	 * 批量提交时（新增 / 修改）的租户绑定守卫
+	 * <p>
+	 * 与 {@link #bindTenant} 规则一致，已存在的实体仅查询一次 (id, tenant_id) 投影完成校验与回写，
+	 * 当前会话的租户与超管身份只解析一次。
+	 *
+	 * @param service    MyBatis-Plus IService 实例
+	 * @param entities   入参实体集合
+	 * @param entityType 实体类型
+	 * @param <T>        实体类型
+	 * @throws TenantException 当非超管且任一修改的目标实体不存在或归属其他租户时抛出
+	 */
+	public static <T> void bindTenantBatch(IService<T> service, Collection<T> entities, EntityType entityType) {
+		if (CollectionUtil.isEmpty(entities)) {
+			return;
+		}
+		Session session = Session.current();
+		Set<Long> ids = new LinkedHashSet<>();
+		for (T entity : entities) {
+			Long id = idOf(entity);
+			if (id == null) {
+				if (!session.administrator()) {
+					bindTenantId(entity, session.tenantId());
+				}
+			} else {
+				ids.add(id);
 			}
+		}
+		if (ids.isEmpty()) {
 			return;
 		}
-		T existEntity = verify(service, id, entityType);
-		if (existEntity == null) {
+		Map<Long, String> tenantIds = verifyIds(service, ids, entityType, session);
+		for (T entity : entities) {
+			Long id = idOf(entity);
+			if (id == null) {
+				continue;
+			}
+			// 非超管路径下已确保 tenantId 等于会话 tenantId，直接复用
+			if (session.administrator()) {
+				if (tenantIds.containsKey(id)) {
+					bindTenantId(entity, tenantIds.get(id));
+				}
+			} else {
+				bindTenantId(entity, session.tenantId());
+			}
+		}
+	}
+
+	/**
+	 * 校验批量 ids 全部归属当前会话租户，仅查询 (id, tenant_id) 投影
+	 * <p>
+	 * 适用于只需校验归属、无需使用实体数据的批量场景，超管放行。
+	 *
+	 * @param service    MyBatis-Plus IService 实例
+	 * @param ids        目标主键集合
+	 * @param entityType 实体类型枚举
+	 * @param <T>        实体类型
+	 * @throws TenantException 当非超管且任一目标实体不存在或归属其他租户时抛出
+	 */
+	public static <T> void verifyIds(IService<T> service, Collection<Long> ids, EntityType entityType) {
+		if (CollectionUtil.isEmpty(ids)) {
 			return;
 		}
-		// 非超管路径下 verify 已确保 existEntity.tenantId 等于会话 tenantId，直接复用避免重复反射
-		String tenantId = SecureUtil.isAdministrator() ? tenantIdOf(existEntity) : SecureUtil.getTenantId();
-		bindTenantId(entity, tenantId);
+		Session session = Session.current();
+		if (session.administrator()) {
+			return;
+		}
+		verifyIds(service, new LinkedHashSet<>(ids), entityType, session);
 	}
 
 	/**
@@ -144,10 +214,11 @@ public class TenantGuard {
 			return Collections.emptyList();
 		}
 		List<T> list = service.listByIds(ids);
-		if (SecureUtil.isAdministrator()) {
+		Session session = Session.current();
+		if (session.administrator()) {
 			return list;
 		}
-		String currentTenantId = SecureUtil.getTenantId();
+		String currentTenantId = session.tenantId();
 		if (list.size() != ids.size() || list.stream().anyMatch(entity -> !currentTenantId.equals(tenantIdOf(entity)))) {
 			throw new TenantException("无权操作非本租户的" + entityType.label());
 		}
@@ -155,12 +226,43 @@ public class TenantGuard {
 	}
 
 	/**
-	 * 反射读取实体主键
+	 * 查询 (id, tenant_id) 投影并校验归属，超管仅查询不校验
+	 *
+	 * @return 主键 -> tenantId
+	 */
+	private static <T> Map<Long, String> verifyIds(IService<T> service, Set<Long> ids, EntityType entityType, Session session) {
+		Class<T> entityClass = service.getEntityClass();
+		TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+		if (tableInfo == null || tableInfo.getKeyColumn() == null) {
+			throw new IllegalArgumentException("实体 " + entityClass.getSimpleName() + " 缺少表信息或主键，不支持租户守卫");
+		}
+		String tenantColumn = tableInfo.getFieldList().stream()
+			.filter(field -> PROPERTY_TENANT_ID.equals(field.getProperty()))
+			.map(TableFieldInfo::getColumn)
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("实体 " + entityClass.getSimpleName() + " 缺少 tenantId 字段，不支持租户守卫"));
+		QueryWrapper<T> wrapper = new QueryWrapper<>();
+		wrapper.select(tableInfo.getKeyColumn(), tenantColumn).in(tableInfo.getKeyColumn(), ids);
+		List<T> list = service.list(wrapper);
+		Map<Long, String> tenantIds = new HashMap<>(list.size() * 4 / 3 + 1);
+		for (T entity : list) {
+			tenantIds.put(idOf(entity), tenantIdOf(entity));
+		}
+		if (session.administrator()) {
+			return tenantIds;
+		}
+		if (tenantIds.size() != ids.size() || tenantIds.values().stream().anyMatch(tenantId -> !session.tenantId().equals(tenantId))) {
+			throw new TenantException("无权操作非本租户的" + entityType.label());
+		}
+		return tenantIds;
+	}
+
+	/**
+	 * 读取实体主键
 	 */
 	private static Long idOf(Object entity) {
-		Method method = ID_GETTER_CACHE.computeIfAbsent(entity.getClass(),
-			clazz -> requireMethod(clazz, METHOD_GET_ID));
-		Object value = ReflectUtil.invokeMethod(method, entity);
+		Object value = ID_GETTER_CACHE.computeIfAbsent(entity.getClass(),
+			clazz -> getter(clazz, METHOD_GET_ID)).apply(entity);
 		if (value != null && !(value instanceof Long)) {
 			throw new IllegalArgumentException("实体 " + entity.getClass().getSimpleName() + " 的主键类型必须为 Long");
 		}
@@ -168,21 +270,57 @@ public class TenantGuard {
 	}
 
 	/**
-	 * 反射读取实体 tenantId
+	 * 读取实体 tenantId
 	 */
 	private static String tenantIdOf(Object entity) {
-		Method method = TENANT_GETTER_CACHE.computeIfAbsent(entity.getClass(),
-			clazz -> requireMethod(clazz, METHOD_GET_TENANT_ID));
-		return (String) ReflectUtil.invokeMethod(method, entity);
+		return (String) TENANT_GETTER_CACHE.computeIfAbsent(entity.getClass(),
+			clazz -> getter(clazz, METHOD_GET_TENANT_ID)).apply(entity);
 	}
 
 	/**
-	 * 反射写入实体 tenantId
+	 * 写入实体 tenantId
 	 */
 	private static void bindTenantId(Object entity, String tenantId) {
-		Method method = TENANT_SETTER_CACHE.computeIfAbsent(entity.getClass(),
-			clazz -> requireMethod(clazz, METHOD_SET_TENANT_ID, String.class));
-		ReflectUtil.invokeMethod(method, entity, tenantId);
+		TENANT_SETTER_CACHE.computeIfAbsent(entity.getClass(),
+			clazz -> setter(clazz, METHOD_SET_TENANT_ID, String.class)).accept(entity, tenantId);
+	}
+
+	/**
+	 * 生成 getter 访问器，无法生成时回退到反射
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> getter(Class<?> clazz, String name) {
+		Method method = requireMethod(clazz, name);
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(method);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+				MethodType.methodType(Function.class),
+				MethodType.methodType(Object.class, Object.class),
+				handle, MethodType.methodType(method.getReturnType(), clazz).wrap());
+			return (Function<Object, Object>) site.getTarget().invokeExact();
+		} catch (Throwable e) {
+			return entity -> ReflectUtil.invokeMethod(method, entity);
+		}
+	}
+
+	/**
+	 * 生成 setter 访问器，无法生成时回退到反射
+	 */
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> setter(Class<?> clazz, String name, Class<?> paramType) {
+		Method method = requireMethod(clazz, name, paramType);
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(method);
+			CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+				MethodType.methodType(BiConsumer.class),
+				MethodType.methodType(void.class, Object.class, Object.class),
+				handle, MethodType.methodType(void.class, clazz, paramType));
+			return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+		} catch (Throwable e) {
+			return (entity, value) -> ReflectUtil.invokeMethod(method, entity, value);
+		}
 	}
 
 	private static Method requireMethod(Class<?> clazz, String name, Class<?>... paramTypes) {
@@ -193,4 +331,17 @@ public class TenantGuard {
 		return method;
 	}
 
+	/**
+	 * 当前会话的超管身份与租户，每次守卫调用只解析一次
+	 *
+	 * @param administrator 是否超管
+	 * @param tenantId      租户ID
+	 */
+	private record Session(boolean administrator, String tenantId) {
+
+		static Session current() {
+			return new Session(SecureUtil.isAdministrator(), SecureUtil.getTenantId());
+		}
+	}
+
 }
@@ -15,9 +15,11 @@
  */
 package org.springblade.core.tenant;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.experimental.UtilityClass;
+import org.springblade.core.secure.context.BladeContext;
 import org.springblade.core.secure.utils.AuthUtil;
-import org.springframework.core.NamedThreadLocal;
+import org.springblade.core.tool.utils.WebUtil;
 import org.springframework.util.Assert;
 
 import java.util.function.Supplier;
@@ -30,36 +32,34 @@ import java.util.function.Supplier;
 @UtilityClass
 public class TenantUtil {
 	/**
-	 * 租户ID线程
+	 * 当前请求已解析的租户id
 	 */
-	private static final ThreadLocal<String> TENANT_ID_HOLDER = new NamedThreadLocal<>("blade-tenant-id") {
-		@Override
-		protected String initialValue() {
-			return null;
-		}
-	};
+	private static final String TENANT_ID_REQUEST_ATTR = "_BLADE_TENANT_ID_REQUEST_ATTR_";
 
 	/**
-	 * 租户状态线程
-	 */
-	private static final ThreadLocal<Boolean> TENANT_IGNORE_HOLDER = new NamedThreadLocal<>("blade-tenant-ignore") {
-		@Override
-		protected Boolean initialValue() {
-			return Boolean.FALSE;
-		}
-	};
-
-	/**
-	 * 获取租户id
+	 * 获取租户id，优先使用上下文中指定或传递的租户id
 	 *
 	 * @return 租户id
 	 */
 	public static String getTenantId() {
-		String tenantId = TENANT_ID_HOLDER.get();
+		String tenantId = BladeContext.current().getTenantId();
 		if (tenantId != null) {
 			return tenantId;
 		}
-		return AuthUtil.getTenantId();
+		// 同一请求内租户id不变，解析一次后保存在 request 中
+		HttpServletRequest request = WebUtil.getRequest();
+		if (request == null) {
+			return AuthUtil.getTenantId();
+		}
+		Object requestTenantId = request.getAttribute(TENANT_ID_REQUEST_ATTR);
+		if (requestTenantId != null) {
+			return (String) requestTenantId;
+		}
+		tenantId = AuthUtil.getTenantId();
+		if (tenantId != null) {
+			request.setAttribute(TENANT_ID_REQUEST_ATTR, tenantId);
+		}
+		return tenantId;
 	}
 
 	/**
@@ -72,12 +72,7 @@ public class TenantUtil {
 	 */
 	public static <R> R use(String tenantId, Supplier<R> supplier) {
 		Assert.hasText(tenantId, "参数 tenantId 为空");
-		try {
-			TENANT_ID_HOLDER.set(tenantId);
-			return supplier.get();
-		} finally {
-			TENANT_ID_HOLDER.remove();
-		}
+		return BladeContext.current().withTenantId(tenantId).supply(supplier);
 	}
 
 	/**
@@ -88,19 +83,14 @@ public class TenantUtil {
 	 */
 	public static void use(String tenantId, Runnable runnable) {
 		Assert.hasText(tenantId, "参数 tenantId 为空");
-		try {
-			TENANT_ID_HOLDER.set(tenantId);
-			runnable.run();
-		} finally {
-			TENANT_ID_HOLDER.remove();
-		}
+		BladeContext.current().withTenantId(tenantId).run(runnable);
 	}
 
 	/**
 	 * 是否忽略租户
 	 */
 	public static Boolean isIgnore() {
-		return TENANT_IGNORE_HOLDER.get();
+		return BladeContext.current().isTenantIgnore();
 	}
 
 	/**
@@ -111,12 +101,7 @@ public class TenantUtil {
 	 * @return R 函数返回
 	 */
 	public static <R> R ignore(Supplier<R> supplier) {
-		try {
-			TENANT_IGNORE_HOLDER.set(Boolean.TRUE);
-			return supplier.get();
-		} finally {
-			TENANT_IGNORE_HOLDER.remove();
-		}
+		return BladeContext.current().withTenantIgnore(true).supply(supplier);
 	}
 
 	/**
@@ -125,12 +110,7 @@ public class TenantUtil {
 	 * @param runnable Runnable
 	 */
 	public static void ignore(Runnable runnable) {
-		try {
-			TENANT_IGNORE_HOLDER.set(Boolean.TRUE);
-			runnable.run();
-		} finally {
-			TENANT_IGNORE_HOLDER.remove();
-		}
+		BladeContext.current().withTenantIgnore(true).run(runnable);
 	}
 
 }
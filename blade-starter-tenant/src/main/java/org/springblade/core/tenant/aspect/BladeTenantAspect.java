@@ -20,9 +20,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springblade.core.tenant.BladeTenantHolder;
+import org.springblade.core.secure.context.BladeContext;
 import org.springblade.core.tenant.annotation.TenantIgnore;
 
+import java.lang.reflect.UndeclaredThrowableException;
+
 /**
  * 自定义租户切面
  *
@@ -34,15 +36,16 @@ public class BladeTenantAspect {
 
 	@Around("@annotation(tenantIgnore)")
 	public Object around(ProceedingJoinPoint point, TenantIgnore tenantIgnore) throws Throwable {
-		try {
-			//开启忽略
-			BladeTenantHolder.setIgnore(Boolean.TRUE);
-			//执行方法
-			return point.proceed();
-		} finally {
-			//关闭忽略
-			BladeTenantHolder.clear();
-		}
+		//开启忽略执行方法，执行完成后恢复之前的忽略状态
+		return BladeContext.current().withTenantIgnore(true).call(() -> {
+			try {
+				return point.proceed();
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new UndeclaredThrowableException(e);
+			}
+		});
 	}
 
 }